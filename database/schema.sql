@@ -1,5 +1,8 @@
 database/schema.sql-- Database Schema for Student Management System
 -- MySQL Script
+-- Creates the V1 tables plus sample data. The application applies the
+-- versioned migrations in src/main/resources/db/migration on startup
+-- (baselining this schema at V1), which adds the query indexes.
 
 CREATE DATABASE IF NOT EXISTS student_management;
 USE student_management;
@@ -27,7 +30,13 @@ CREATE TABLE IF NOT EXISTS students (
     FOREIGN KEY (course_id) REFERENCES courses(course_id) ON DELETE SET NULL
 );
 
--- Payments Table (Optional - for tracking payment history)
+-- ID Generators Table (pooled table generator, enables batched student inserts)
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+-- Payments Table - append-only ledger (PAYMENT, REFUND, ADJUSTMENT)
 CREATE TABLE IF NOT EXISTS payments (
     payment_id BIGINT AUTO_INCREMENT PRIMARY KEY,
     student_id BIGINT NOT NULL,
@@ -47,3 +56,11 @@ INSERT INTO students (name, email, phone, balance, course_id, status) VALUES
 ('John Doe', 'john.doe@example.com', '9876543210', 50000.00, 1, 'ACTIVE'),
 ('Jane Smith', 'jane.smith@example.com', '9876543211', 40000.00, 2, 'ACTIVE'),
 ('Mike Johnson', 'mike.j@example.com', '9876543212', 15000.00, 3, 'ACTIVE');
+
+-- Opening ledger entries, so balances can be derived from payments
+INSERT INTO payments (student_id, amount, payment_type)
+SELECT student_id, balance, 'ADJUSTMENT' FROM students WHERE balance <> 0;
+
+-- Start the student ID generator above the rows inserted by AUTO_INCREMENT
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'students', COALESCE(MAX(student_id), 0) + 100 FROM students;
@@ -0,0 +1,93 @@
+package com.bytexl.sms.benchmark;
+
+import com.bytexl.sms.config.AppConfig;
+import com.bytexl.sms.model.Course;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.service.CourseService;
+import com.bytexl.sms.service.StudentService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkDatabase - Boots the real Spring context against a fresh in-memory
+ * H2 database (MySQL mode) and seeds it with a given number of students
+ */
+final class BenchmarkDatabase {
+
+    static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+
+    private static final int SEED_CHUNK = 10_000;
+
+    private BenchmarkDatabase() {}
+
+    static AnnotationConfigApplicationContext start(boolean secondLevelCache) {
+        return start(secondLevelCache, true);
+    }
+
+    /**
+     * With migrations=false the schema is generated by Hibernate instead, which
+     * leaves out the indexes added by db/migration
+     */
+    static AnnotationConfigApplicationContext start(boolean secondLevelCache, boolean migrations) {
+        System.setProperty("db.url", "jdbc:h2:mem:bench" + System.nanoTime()
+                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        System.setProperty("hibernate.show_sql", "false");
+        System.setProperty("db.migration.mode", migrations ? "migrate" : "none");
+        System.setProperty("hibernate.hbm2ddl.auto", migrations ? "validate" : "create");
+        System.setProperty("hibernate.cache.use_second_level_cache", String.valueOf(secondLevelCache));
+        System.setProperty("hibernate.cache.use_query_cache", String.valueOf(secondLevelCache));
+        return new AnnotationConfigApplicationContext(AppConfig.class);
+    }
+
+    /**
+     * Creates the given number of courses, returning their IDs
+     */
+    static long[] seedCourses(AnnotationConfigApplicationContext context, int count) {
+        CourseService courseService = context.getBean(CourseService.class);
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            courses.add(new Course("Course " + i, "6 months", new BigDecimal("50000.00")));
+        }
+        courseService.addCourses(courses);
+
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = courses.get(i).getCourseId();
+        }
+        return ids;
+    }
+
+    /**
+     * Creates students named after their index (email "student{i}@bench.local"),
+     * each with OPENING_BALANCE. Returns their IDs, indexed the same way.
+     */
+    static long[] seedStudents(AnnotationConfigApplicationContext context, int count) {
+        StudentService studentService = context.getBean(StudentService.class);
+        long[] ids = new long[count];
+        for (int start = 0; start < count; start += SEED_CHUNK) {
+            int end = Math.min(start + SEED_CHUNK, count);
+            List<Student> chunk = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                Student student = new Student("Student " + i, email(i), "98765" + (10000 + i % 90000));
+                student.setBalance(OPENING_BALANCE);
+                chunk.add(student);
+            }
+            studentService.addStudents(chunk);
+            for (int i = start; i < end; i++) {
+                ids[i] = chunk.get(i - start).getStudentId();
+            }
+        }
+        return ids;
+    }
+
+    static String email(int index) {
+        return "student" + index + "@bench.local";
+    }
+}
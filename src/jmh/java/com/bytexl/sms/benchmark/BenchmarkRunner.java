@@ -0,0 +1,54 @@
+package com.bytexl.sms.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * BenchmarkRunner - Entry point of target/benchmarks.jar
+ * Runs the selected benchmarks once per requested thread count and writes
+ * one JSON result file per run, so results can be diffed between releases.
+ *
+ * System properties:
+ *   bench.include  benchmark regex          (default: all benchmarks)
+ *   bench.threads  comma-separated counts   (default: 1,4)
+ *   bench.rows     comma-separated rows     (default: each benchmark's @Param values)
+ *   bench.output   result directory         (default: target/jmh)
+ *
+ * Any command-line arguments are passed straight to JMH instead,
+ * e.g. java -jar target/benchmarks.jar PaymentBenchmark -t 8 -rf json
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        String include = System.getProperty("bench.include", "com\\.bytexl\\.sms\\.benchmark\\..*");
+        String rows = System.getProperty("bench.rows");
+        Path output = Paths.get(System.getProperty("bench.output", "target/jmh"));
+        Files.createDirectories(output);
+
+        for (String threads : System.getProperty("bench.threads", "1,4").split(",")) {
+            int threadCount = Integer.parseInt(threads.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threadCount)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(output.resolve("results-" + threadCount + "t.json").toString());
+            if (rows != null) {
+                options.param("rows", rows.split(","));
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bytexl.sms.benchmark;
+
+import com.bytexl.sms.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnrollmentBenchmark - StudentService.enrollStudentInCourse for random students and courses,
+ * and enrollStudentsInCourse for batches of BATCH random students
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EnrollmentBenchmark {
+
+    private static final int COURSES = 20;
+    private static final int BATCH = 1000;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private StudentService studentService;
+    private long[] studentIds;
+    private long[] courseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(true);
+        studentService = context.getBean(StudentService.class);
+        courseIds = BenchmarkDatabase.seedCourses(context, COURSES);
+        studentIds = BenchmarkDatabase.seedStudents(context, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void enrollStudentInCourse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        studentService.enrollStudentInCourse(studentIds[random.nextInt(rows)], courseIds[random.nextInt(COURSES)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int enrollStudentsInCourse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(studentIds[random.nextInt(rows)]);
+        }
+        return studentService.enrollStudentsInCourse(courseIds[random.nextInt(COURSES)], batch);
+    }
+}
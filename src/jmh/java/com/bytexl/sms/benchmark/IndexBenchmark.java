@@ -0,0 +1,135 @@
+package com.bytexl.sms.benchmark;
+
+import com.bytexl.sms.dto.StudentSummary;
+import com.bytexl.sms.model.Payment;
+import com.bytexl.sms.service.LedgerService;
+import com.bytexl.sms.service.ReportService;
+import com.bytexl.sms.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IndexBenchmark - Filtered queries with and without the db/migration indexes
+ * With indexes=false the schema comes from Hibernate (keys, foreign keys and
+ * unique email only).
+ * The setup prints each query's plan, so the index choice is visible next to
+ * the timings.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IndexBenchmark {
+
+    private static final int COURSES = 20;
+    private static final int ENROLL_EVERY = 10;
+
+    private static final List<String> PLANNED_QUERIES = Arrays.asList(
+            "SELECT * FROM payments WHERE student_id = 42 ORDER BY payment_id",
+            "SELECT student_id FROM students WHERE balance > 9950 ORDER BY balance DESC LIMIT 20",
+            "SELECT student_id FROM students WHERE course_id = 1");
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean indexes;
+
+    private AnnotationConfigApplicationContext context;
+    private StudentService studentService;
+    private LedgerService ledgerService;
+    private ReportService reportService;
+    private long[] studentIds;
+    private long[] courseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        context = BenchmarkDatabase.start(false, indexes);
+        studentService = context.getBean(StudentService.class);
+        ledgerService = context.getBean(LedgerService.class);
+        reportService = context.getBean(ReportService.class);
+        courseIds = BenchmarkDatabase.seedCourses(context, COURSES);
+        studentIds = BenchmarkDatabase.seedStudents(context, rows);
+        for (int course = 0; course < COURSES; course++) {
+            List<Long> batch = new ArrayList<>();
+            for (int i = course; i < rows; i += COURSES * ENROLL_EVERY) {
+                batch.add(studentIds[i]);
+            }
+            studentService.enrollStudentsInCourse(courseIds[course], batch);
+        }
+        DataSource dataSource = context.getBean(DataSource.class);
+        spreadBalances(dataSource);
+        printPlans(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Payment> paymentHistory() {
+        return ledgerService.getPaymentHistory(studentIds[ThreadLocalRandom.current().nextInt(rows)]);
+    }
+
+    @Benchmark
+    public List<StudentSummary> balanceAbove() {
+        // Top ~1% of balances; a fresh threshold each call so H2 cannot answer from its result cache
+        BigDecimal threshold = BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(990_000, 1_000_000), 2);
+        return reportService.getStudentsWithBalanceAbove(threshold, 20);
+    }
+
+    @Benchmark
+    public List<StudentSummary> courseRoster() {
+        return studentService.getCourseRoster(courseIds[ThreadLocalRandom.current().nextInt(COURSES)]);
+    }
+
+    /**
+     * Balances spread evenly over 0.00 - 9999.99, so balance filters are selective
+     */
+    private void spreadBalances(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE students SET balance = MOD(student_id * 7919, 1000000) / 100.0");
+        }
+    }
+
+    private void printPlans(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : PLANNED_QUERIES) {
+                try (ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+                    StringBuilder text = new StringBuilder();
+                    while (plan.next()) {
+                        text.append(plan.getString(1)).append('\n');
+                    }
+                    System.out.println("\n[indexes=" + indexes + "] " + sql + "\n" + text);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bytexl.sms.benchmark;
+
+import com.bytexl.sms.dto.BalanceDiscrepancy;
+import com.bytexl.sms.service.FeeService;
+import com.bytexl.sms.service.LedgerService;
+import com.bytexl.sms.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PaymentBenchmark - FeeService.processPayment under concurrency
+ * With contended=true every thread pays into the same few students, which is
+ * the worst case for lost updates. After the trial the benchmark verifies that
+ * no money was lost: the total of all balances must equal the opening total
+ * minus every successful payment, and the ledger must reconcile. A mismatch
+ * fails the run.
+ *
+ * Run with several threads, e.g. -Dbench.threads=1,8,32 or JMH's -t option.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PaymentBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final int HOT_STUDENTS = 4;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean contended;
+
+    private AnnotationConfigApplicationContext context;
+    private FeeService feeService;
+    private long[] studentIds;
+    private final AtomicLong payments = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(true);
+        feeService = context.getBean(FeeService.class);
+        studentIds = BenchmarkDatabase.seedStudents(context, rows);
+    }
+
+    @Benchmark
+    public void processPayment() {
+        int range = contended ? HOT_STUDENTS : rows;
+        feeService.processPayment(studentIds[ThreadLocalRandom.current().nextInt(range)], AMOUNT);
+        payments.incrementAndGet();
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyAndClose() throws InterruptedException {
+        try {
+            BigDecimal expected = BenchmarkDatabase.OPENING_BALANCE.multiply(BigDecimal.valueOf(rows))
+                    .subtract(AMOUNT.multiply(BigDecimal.valueOf(payments.get())));
+            BigDecimal[] actual = {BigDecimal.ZERO};
+            context.getBean(StudentService.class).forEachStudent(
+                    student -> actual[0] = actual[0].add(student.getBalance()));
+            if (actual[0].compareTo(expected) != 0) {
+                throw new IllegalStateException("Money lost: expected total balance " + expected
+                        + " after " + payments.get() + " payments, found " + actual[0]);
+            }
+
+            List<BalanceDiscrepancy> discrepancies = context.getBean(LedgerService.class).reconcile(10);
+            if (!discrepancies.isEmpty()) {
+                throw new IllegalStateException("Ledger does not reconcile: " + discrepancies);
+            }
+        } finally {
+            context.close();
+        }
+    }
+}
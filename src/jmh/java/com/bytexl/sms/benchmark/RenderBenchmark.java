@@ -0,0 +1,91 @@
+package com.bytexl.sms.benchmark;
+
+import com.bytexl.sms.cli.StudentTableRenderer;
+import com.bytexl.sms.dto.StudentSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RenderBenchmark - Listing all students: printf per row to a PrintStream
+ * (the old viewAllStudents) against StudentTableRenderer. Rows come from
+ * memory and output is discarded, so only formatting and writing are measured.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RenderBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+
+    @Param({"100000"})
+    public int rows;
+
+    private List<StudentSummary> students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        students = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            students.add(new StudentSummary((long) i, "Student " + i, "student" + i + "@example.com",
+                    "555" + (1_000_000 + i), BigDecimal.valueOf(i % 50_000, 2), "Course " + i % 20));
+        }
+    }
+
+    @Benchmark
+    public PrintStream printfPerRow() {
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8);
+        out.printf("%-5s %-20s %-30s %-15s %-10s%n", "ID", "Name", "Email", "Phone", "Balance");
+        for (StudentSummary s : students) {
+            out.printf("%-5d %-20s %-30s %-15s %-10s%n",
+                    s.getStudentId(), s.getName(), s.getEmail(), s.getPhone(), s.getBalance());
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long rendererTable() throws IOException {
+        return render(StudentTableRenderer.Format.TABLE);
+    }
+
+    @Benchmark
+    public long rendererJsonLines() throws IOException {
+        return render(StudentTableRenderer.Format.JSONL);
+    }
+
+    private long render(StudentTableRenderer.Format format) throws IOException {
+        OutputStreamWriter out = new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+        return new StudentTableRenderer(out, format).render(this::page, PAGE_SIZE);
+    }
+
+    private List<StudentSummary> page(Long afterId, int pageSize) {
+        int from = afterId == null ? 0 : afterId.intValue();
+        if (from >= students.size()) {
+            return Collections.emptyList();
+        }
+        return students.subList(from, Math.min(from + pageSize, students.size()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.bytexl.sms.benchmark;
+
+import com.bytexl.sms.dto.CourseOutstanding;
+import com.bytexl.sms.dto.FeeDashboard;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.report.BalanceColumns;
+import com.bytexl.sms.service.ReportService;
+import com.bytexl.sms.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportBenchmark - Outstanding balance per course computed three ways:
+ * Java loops over findAll (the old approach), a SQL GROUP BY, and an
+ * in-memory fork-join pass over a BalanceColumns snapshot
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportBenchmark {
+
+    private static final int COURSES = 20;
+    private static final int ENROLL_EVERY = 10;
+    private static final BigDecimal THRESHOLD = new BigDecimal("10000.00");
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private StudentService studentService;
+    private ReportService reportService;
+    private BalanceColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(false);
+        studentService = context.getBean(StudentService.class);
+        reportService = context.getBean(ReportService.class);
+        long[] courseIds = BenchmarkDatabase.seedCourses(context, COURSES);
+        long[] studentIds = BenchmarkDatabase.seedStudents(context, rows);
+        for (int i = 0; i < rows; i += ENROLL_EVERY) {
+            studentService.enrollStudentInCourse(studentIds[i], courseIds[i % COURSES]);
+        }
+        columns = reportService.loadBalanceColumns();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> javaLoops() {
+        Map<Long, BigDecimal> outstanding = new HashMap<>();
+        for (Student student : studentService.getAllStudents()) {
+            if (student.getBalance().signum() > 0) {
+                Long courseId = student.getCourse() == null ? null : student.getCourse().getCourseId();
+                outstanding.merge(courseId, student.getBalance(), BigDecimal::add);
+            }
+        }
+        return outstanding;
+    }
+
+    @Benchmark
+    public List<CourseOutstanding> sqlGroupBy() {
+        return reportService.getOutstandingByCourse();
+    }
+
+    @Benchmark
+    public BalanceColumns loadColumns() {
+        return reportService.loadBalanceColumns();
+    }
+
+    @Benchmark
+    public FeeDashboard columnsSummarize() {
+        return columns.summarize(THRESHOLD);
+    }
+}
@@ -0,0 +1,125 @@
+package com.bytexl.sms.benchmark;
+
+import com.bytexl.sms.dto.StudentSummary;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentLookupBenchmark - Read paths of StudentDAO through StudentService
+ * Point lookups are measured as throughput, full-table reads as time per scan.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StudentLookupBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private AnnotationConfigApplicationContext context;
+    private StudentService studentService;
+    private long[] studentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(secondLevelCache);
+        studentService = context.getBean(StudentService.class);
+        studentIds = BenchmarkDatabase.seedStudents(context, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Student findById() {
+        return studentService.getStudentById(studentIds[ThreadLocalRandom.current().nextInt(rows)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Student findByEmail() {
+        return studentService.getStudentByEmail(BenchmarkDatabase.email(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    /**
+     * Legacy full materialization - StudentDAO.findAll
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Student> findAll() {
+        return studentService.getAllStudents();
+    }
+
+    /**
+     * Cursor streaming - StudentDAO.forEach
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long streamAll(Blackhole blackhole) {
+        return studentService.forEachStudent(blackhole::consume);
+    }
+
+    /**
+     * Keyset pagination over the whole table - StudentDAO.findPage
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long pageAll(Blackhole blackhole) {
+        long count = 0;
+        List<Student> page = studentService.getStudentsPage(null, 500);
+        while (!page.isEmpty()) {
+            blackhole.consume(page);
+            count += page.size();
+            page = studentService.getStudentsPage(page.get(page.size() - 1).getStudentId(), 500);
+        }
+        return count;
+    }
+
+    /**
+     * Keyset pagination over DTO projections - StudentDAO.findSummaryPage
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long pageSummaries(Blackhole blackhole) {
+        long count = 0;
+        List<StudentSummary> page = studentService.getStudentSummariesPage(null, 500);
+        while (!page.isEmpty()) {
+            blackhole.consume(page);
+            count += page.size();
+            page = studentService.getStudentSummariesPage(page.get(page.size() - 1).getStudentId(), 500);
+        }
+        return count;
+    }
+}
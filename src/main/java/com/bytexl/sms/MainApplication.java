@@ -1,33 +1,104 @@
 package com.bytexl.sms;
 
+import com.bytexl.sms.cli.BatchCommandRunner;
+import com.bytexl.sms.cli.BatchReport;
+import com.bytexl.sms.cli.StudentTableRenderer;
 import com.bytexl.sms.config.AppConfig;
+import com.bytexl.sms.config.FastStartConfig;
+import com.bytexl.sms.dto.StudentMatch;
+import com.bytexl.sms.metrics.MetricsReporter;
+import com.bytexl.sms.metrics.StartupTimeline;
 import com.bytexl.sms.model.Course;
 import com.bytexl.sms.model.Student;
+import com.bytexl.sms.rollover.RolloverReport;
+import com.bytexl.sms.rollover.TermRolloverService;
 import com.bytexl.sms.service.FeeService;
 import com.bytexl.sms.service.StudentService;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
  * MainApplication - Console-based Student Management System
  * Demonstrates complete Spring + Hibernate application
+ *
+ * Options:
+ *   --fast-start      activate the fast-start profile (see FastStartConfig)
+ *   --startup-report  print where startup time went
+ *   --batch FILE      run the commands in FILE (- for stdin) instead of the
+ *                     menu, see BatchCommand; with --parallelism N and
+ *                     --batch-size N overriding batch.parallelism / batch.size
+ *   --list-students F print all students as table, tsv or jsonl and exit
+ *   --term-rollover NAME --courses ID,ID
+ *                     reset the balance of every active student in the
+ *                     courses to the course fee, see TermRolloverService;
+ *                     rerun with the same NAME to resume. --dry-run only
+ *                     reports the changes, --parallelism N and --chunk-size N
+ *                     override rollover.parallelism / rollover.chunkSize
  */
 public class MainApplication {
 
+    private static final int PAGE_SIZE = 500;
+    private static final int SEARCH_LIMIT = 20;
+
     private static ApplicationContext context;
     private static StudentService studentService;
     private static FeeService feeService;
     private static Scanner scanner;
 
     public static void main(String[] args) {
+        List<String> options = Arrays.asList(args);
+        StartupTimeline startup = new StartupTimeline();
+        optionToProperty(options, "--parallelism", "batch.parallelism");
+        optionToProperty(options, "--batch-size", "batch.size");
+        optionToProperty(options, "--parallelism", "rollover.parallelism");
+        optionToProperty(options, "--chunk-size", "rollover.chunkSize");
+
         // Initialize Spring Application Context
-        context = new AnnotationConfigApplicationContext(AppConfig.class);
-        studentService = context.getBean(StudentService.class);
-        feeService = context.getBean(FeeService.class);
+        context = startContext(startup, options.contains("--fast-start"));
+        studentService = startup.phase("app.services", () -> context.getBean(StudentService.class));
+        feeService = startup.phase("app.services", () -> context.getBean(FeeService.class));
+        if (options.contains("--startup-report")) {
+            System.out.print(startup.report());
+        }
+        if (options.contains("--list-students")) {
+            int status = 0;
+            try {
+                String format = optionValue(options, "--list-students");
+                listStudents(StudentTableRenderer.Format.parse(format == null ? "table" : format));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Listing failed: " + e.getMessage());
+                status = 1;
+            }
+            ((AnnotationConfigApplicationContext) context).close();
+            System.exit(status);
+        }
+        if (options.contains("--batch")) {
+            int status = runBatch(options);
+            ((AnnotationConfigApplicationContext) context).close();
+            System.exit(status);
+        }
+        if (options.contains("--term-rollover")) {
+            int status = runTermRollover(options);
+            ((AnnotationConfigApplicationContext) context).close();
+            System.exit(status);
+        }
         scanner = new Scanner(System.in);
 
         System.out.println("=" .repeat(60));
@@ -63,6 +134,15 @@ public class MainApplication {
                     case 7:
                         checkBalance();
                         break;
+                    case 8:
+                        showMetrics();
+                        break;
+                    case 9:
+                        searchStudents();
+                        break;
+                    case 10:
+                        graduateStudent();
+                        break;
                     case 0:
                         running = false;
                         System.out.println("\nThank you for using Student Management System!");
@@ -79,6 +159,101 @@ public class MainApplication {
         ((AnnotationConfigApplicationContext) context).close();
     }
 
+    /**
+     * Creates and refreshes the context, reporting its startup steps to the timeline
+     */
+    private static AnnotationConfigApplicationContext startContext(StartupTimeline startup, boolean fastStart) {
+        AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.setApplicationStartup(startup);
+        if (fastStart) {
+            applicationContext.getEnvironment().addActiveProfile(FastStartConfig.PROFILE);
+        }
+        applicationContext.register(AppConfig.class);
+        applicationContext.refresh();
+        return applicationContext;
+    }
+
+    /**
+     * Runs a command file, writing one result line per command to stdout and
+     * the summary to stderr. Returns the exit status: 0 if every command
+     * succeeded, 2 if any failed, 1 if the run itself failed.
+     */
+    private static int runBatch(List<String> options) {
+        BatchCommandRunner runner = context.getBean(BatchCommandRunner.class);
+        String file = optionValue(options, "--batch");
+
+        try (Reader input = file == null || file.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+            BatchReport report = runner.run(input, output);
+            System.err.printf("%d commands: %d succeeded, %d failed in %d ms%n", report.getCommandsRead(),
+                    report.getSucceeded(), report.getFailed(), report.getElapsedMillis());
+            return report.getFailed() == 0 ? 0 : 2;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Batch run failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs or resumes a term rollover, printing the totals per course to
+     * stdout. Returns the exit status: 0 if the rollover completed, 2 if a
+     * partition failed (run it again to resume), 1 if it could not run.
+     */
+    private static int runTermRollover(List<String> options) {
+        TermRolloverService rollovers = context.getBean(TermRolloverService.class);
+        try {
+            String name = optionValue(options, "--term-rollover");
+            String courses = optionValue(options, "--courses");
+            if (name == null || courses == null) {
+                throw new IllegalArgumentException("Usage: --term-rollover NAME --courses ID,ID [--dry-run]");
+            }
+            List<Long> courseIds = new ArrayList<>();
+            for (String courseId : courses.split(",")) {
+                courseIds.add(Long.valueOf(courseId.trim()));
+            }
+
+            RolloverReport report = rollovers.run(name, courseIds, options.contains("--dry-run"));
+            Map<Long, BigDecimal> deltas = report.getDeltaByCourse();
+            for (Map.Entry<Long, Long> course : report.getAssessedByCourse().entrySet()) {
+                System.out.printf("course %d\t%d students\tdelta %s%n",
+                        course.getKey(), course.getValue(), deltas.get(course.getKey()));
+            }
+            System.err.printf("%s%s: %d students read, %d %s, delta %s in %d ms (%.0f students/s)%n",
+                    report.getRolloverId(), report.isDryRun() ? " (dry run)" : "",
+                    report.getStudentsScanned(), report.getStudentsAssessed(),
+                    report.isDryRun() ? "would change" : "assessed", report.getTotalDelta(),
+                    report.getElapsedMillis(), report.getStudentsPerSecond());
+            for (String failure : report.getFailures()) {
+                System.err.println(failure);
+            }
+            return report.getFailures().isEmpty() ? 0 : 2;
+        } catch (RuntimeException e) {
+            System.err.println("Term rollover failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Command-line values become system properties, which take precedence
+     * over database.properties
+     */
+    private static void optionToProperty(List<String> options, String name, String property) {
+        String value = optionValue(options, name);
+        if (value != null) {
+            System.setProperty(property, value);
+        }
+    }
+
+    private static String optionValue(List<String> options, String name) {
+        int index = options.indexOf(name);
+        if (index < 0 || index + 1 >= options.size() || options.get(index + 1).startsWith("--")) {
+            return null;
+        }
+        return options.get(index + 1);
+    }
+
     private static void displayMenu() {
         System.out.println("\n" + "-".repeat(60));
         System.out.println("MAIN MENU");
@@ -90,6 +265,9 @@ public class MainApplication {
         System.out.println("5. Process Fee Payment");
         System.out.println("6. Process Refund");
         System.out.println("7. Check Student Balance");
+        System.out.println("8. Show Metrics");
+        System.out.println("9. Search Students");
+        System.out.println("10. Graduate Student");
         System.out.println("0. Exit");
         System.out.println("-".repeat(60));
     }
@@ -106,24 +284,21 @@ public class MainApplication {
         System.out.println("\n✓ Student added successfully!");
     }
 
-    private static void viewAllStudents() {
+    private static void viewAllStudents() throws IOException {
         System.out.println("\n=== ALL STUDENTS ===");
-        List<Student> students = studentService.getAllStudents();
-        
-        if (students.isEmpty()) {
+        if (listStudents(StudentTableRenderer.Format.TABLE) == 0) {
             System.out.println("No students found.");
-        } else {
-            System.out.printf("%-5s %-20s %-30s %-15s %-10s%n", 
-                "ID", "Name", "Email", "Phone", "Balance");
-            System.out.println("-".repeat(85));
-            for (Student s : students) {
-                System.out.printf("%-5d %-20s %-30s %-15s %-10s%n",
-                    s.getStudentId(), s.getName(), s.getEmail(), 
-                    s.getPhone(), s.getBalance());
-            }
         }
     }
 
+    /**
+     * Streams all students to stdout in the given format; returns the row count
+     */
+    private static long listStudents(StudentTableRenderer.Format format) throws IOException {
+        Writer output = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        return new StudentTableRenderer(output, format).render(studentService::getStudentSummariesPage, PAGE_SIZE);
+    }
+
     private static void updateStudent() {
         System.out.println("\n=== UPDATE STUDENT ===");
         Long id = getLongInput("Enter student ID: ");
@@ -131,8 +306,7 @@ public class MainApplication {
         
         if (student != null) {
             String name = getStringInput("Enter new name (current: " + student.getName() + "): ");
-            student.setName(name);
-            studentService.updateStudent(student);
+            studentService.updateStudent(id, name, null, null);
             System.out.println("\n✓ Student updated successfully!");
         } else {
             System.out.println("\nStudent not found!");
@@ -146,14 +320,21 @@ public class MainApplication {
         System.out.println("\n✓ Student deleted successfully!");
     }
 
+    private static void graduateStudent() {
+        System.out.println("\n=== GRADUATE STUDENT ===");
+        Long id = getLongInput("Enter student ID: ");
+        studentService.graduateStudent(id);
+        System.out.println("\n✓ Student marked as graduated!");
+    }
+
     private static void processPayment() {
         System.out.println("\n=== PROCESS PAYMENT ===");
         Long id = getLongInput("Enter student ID: ");
         BigDecimal amount = getBigDecimalInput("Enter payment amount: ");
         
-        feeService.processPayment(id, amount);
+        BigDecimal newBalance = feeService.processPayment(id, amount);
         System.out.println("\n✓ Payment processed successfully!");
-        System.out.println("New balance: " + feeService.getBalance(id));
+        System.out.println("New balance: " + newBalance);
     }
 
     private static void processRefund() {
@@ -161,9 +342,9 @@ public class MainApplication {
         Long id = getLongInput("Enter student ID: ");
         BigDecimal amount = getBigDecimalInput("Enter refund amount: ");
         
-        feeService.processRefund(id, amount);
+        BigDecimal newBalance = feeService.processRefund(id, amount);
         System.out.println("\n✓ Refund processed successfully!");
-        System.out.println("New balance: " + feeService.getBalance(id));
+        System.out.println("New balance: " + newBalance);
     }
 
     private static void checkBalance() {
@@ -173,6 +354,28 @@ public class MainApplication {
         System.out.println("\nCurrent balance: " + balance);
     }
 
+    private static void showMetrics() {
+        System.out.println("\n=== METRICS ===");
+        System.out.print(context.getBean(MetricsReporter.class).snapshot());
+    }
+
+    private static void searchStudents() {
+        System.out.println("\n=== SEARCH STUDENTS ===");
+        String query = getStringInput("Enter part of name, email or phone: ");
+        List<StudentMatch> matches = studentService.searchStudents(query, SEARCH_LIMIT);
+
+        if (matches.isEmpty()) {
+            System.out.println("No matching students.");
+        } else {
+            System.out.printf("%-5s %-20s %-30s %-15s%n", "ID", "Name", "Email", "Phone");
+            System.out.println("-".repeat(74));
+            for (StudentMatch m : matches) {
+                System.out.printf("%-5d %-20s %-30s %-15s%n",
+                    m.getStudentId(), m.getName(), m.getEmail(), m.getPhone());
+            }
+        }
+    }
+
     // Utility methods
     private static String getStringInput(String prompt) {
         System.out.print(prompt);
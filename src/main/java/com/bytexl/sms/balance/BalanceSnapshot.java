@@ -0,0 +1,324 @@
+package com.bytexl.sms.balance;
+
+import com.bytexl.sms.config.FastStartConfig;
+import com.bytexl.sms.dao.StudentDAO;
+import com.bytexl.sms.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * BalanceSnapshot - In-memory copy of every student's balance, in cents
+ *
+ * A primitive open-addressing table (parallel long arrays, linear probing)
+ * from student ID to balance, so a balance check is a few array reads with
+ * no entity, Session, transaction or pooled connection. Readers use an
+ * optimistic StampedLock read and only block while a write is in progress.
+ *
+ * Every entry carries a version. Balance writers (payments, refunds,
+ * enrollment, new students) take the next version inside their transaction,
+ * while the student's row is locked, and apply the new balance after commit
+ * only if it is newer than what the table holds, so callbacks that run out
+ * of order cannot leave an old balance behind. Archival just invalidates
+ * the entry. The table is loaded in the background at startup without
+ * overwriting any entry already written by a commit.
+ *
+ * get() returns null - and callers read the database - when the snapshot
+ * is disabled (balance.snapshot.enabled=false, or the fast-start profile
+ * is active), the student is unknown or
+ * the entry was invalidated.
+ */
+@Component
+public class BalanceSnapshot implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshot.class);
+
+    private static final int WARMUP_FETCH_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final long EMPTY_KEY = 0L;
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final long WARMUP_VERSION = 0L;
+
+    @Autowired
+    private StudentDAO studentDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment env;
+
+    private final StampedLock lock = new StampedLock();
+    private final AtomicLong versions = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private long[] entryVersions = new long[INITIAL_CAPACITY];
+    private int size;
+
+    private boolean enabled;
+    private volatile boolean ready;
+    private volatile boolean closed;
+
+    @Override
+    public void afterPropertiesSet() {
+        enabled = env.getProperty("balance.snapshot.enabled", Boolean.class, false)
+                && !FastStartConfig.isActive(env);
+        if (!enabled) {
+            return;
+        }
+        Thread warmupThread = new Thread(this::warmUp, "balance-snapshot-warmup");
+        warmupThread.setDaemon(true);
+        warmupThread.start();
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The student's balance as of the last commit that changed it, or null
+     * if it has to be read from the database
+     */
+    public BigDecimal get(Long studentId) {
+        if (!enabled || studentId == null || studentId <= 0) {
+            return null;
+        }
+        long id = studentId;
+        long stamp = lock.tryOptimisticRead();
+        long value = lookup(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = lookup(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (value == INVALID) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return BigDecimal.valueOf(value, 2);
+    }
+
+    /**
+     * Records the student's new balance once the current transaction commits.
+     * Call after the balance UPDATE, while the row is still locked.
+     */
+    public void balanceChanged(Long studentId, BigDecimal balance) {
+        balancesChanged(Collections.singletonList(studentId), balance);
+    }
+
+    /**
+     * Records the same new balance for all the students once the current
+     * transaction commits. Call while their rows are locked.
+     */
+    public void balancesChanged(Collection<Long> studentIds, BigDecimal balance) {
+        if (!enabled || studentIds.isEmpty()) {
+            return;
+        }
+        long version = versions.incrementAndGet();
+        long value = toCents(balance);
+        TransactionCallbacks.afterCommit(() -> putAll(studentIds, value, version));
+    }
+
+    /**
+     * Drops the students' entries once the current transaction commits;
+     * their balances are read from the database until they change again
+     */
+    public void invalidateAll(Collection<Long> studentIds) {
+        if (!enabled || studentIds.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> putAll(studentIds, INVALID, versions.incrementAndGet()));
+    }
+
+    public void invalidate(Long studentId) {
+        invalidateAll(Collections.singletonList(studentId));
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void putAll(Collection<Long> studentIds, long value, long version) {
+        long stamp = lock.writeLock();
+        try {
+            for (Long studentId : studentIds) {
+                put(studentId, value, version);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            // Not read-only: a lagging replica could hand out balances older than the primary's
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.execute(status -> studentDAO.forEachBalance(WARMUP_FETCH_SIZE, this::load));
+        } catch (CancellationException e) {
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Balance snapshot could not be loaded, balances will be read from the database", e);
+            return;
+        }
+        ready = true;
+        logger.info("Balance snapshot loaded {} students in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds a balance read by the warm-up scan. WARMUP_VERSION never replaces
+     * an entry, so anything committed since the scan started wins.
+     */
+    private void load(Long studentId, BigDecimal balance) {
+        if (closed) {
+            throw new CancellationException("Balance snapshot closed");
+        }
+        long stamp = lock.writeLock();
+        try {
+            put(studentId, toCents(balance), WARMUP_VERSION);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Probes for the ID. Runs under an optimistic read, so it reads each
+     * array field once and never loops more than the table length.
+     */
+    private long lookup(long id) {
+        long[] keys = this.keys;
+        long[] cents = this.cents;
+        if (keys.length != cents.length) {
+            return INVALID;
+        }
+        int mask = keys.length - 1;
+        int slot = index(id, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long key = keys[slot];
+            if (key == id) {
+                return cents[slot];
+            }
+            if (key == EMPTY_KEY) {
+                return INVALID;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return INVALID;
+    }
+
+    /**
+     * Inserts or, if version is newer, replaces the entry. Write lock held.
+     */
+    private void put(Long studentId, long value, long version) {
+        if (studentId == null || studentId <= 0) {
+            return;
+        }
+        long id = studentId;
+        int mask = keys.length - 1;
+        int slot = index(id, mask);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == id) {
+                if (version > entryVersions[slot]) {
+                    cents[slot] = value;
+                    entryVersions[slot] = version;
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        cents[slot] = value;
+        entryVersions[slot] = version;
+        if (++size > keys.length * 3 / 4) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldCents = cents;
+        long[] oldVersions = entryVersions;
+        int capacity = oldKeys.length * 2;
+        long[] newKeys = new long[capacity];
+        long[] newCents = new long[capacity];
+        long[] newVersions = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long id = oldKeys[i];
+            if (id == EMPTY_KEY) {
+                continue;
+            }
+            int slot = index(id, mask);
+            while (newKeys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            newKeys[slot] = id;
+            newCents[slot] = oldCents[i];
+            newVersions[slot] = oldVersions[i];
+        }
+        keys = newKeys;
+        cents = newCents;
+        entryVersions = newVersions;
+    }
+
+    private static int index(long id, int mask) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Balance in cents, or INVALID for a null or non-cent balance
+     */
+    private static long toCents(BigDecimal balance) {
+        if (balance == null) {
+            return INVALID;
+        }
+        try {
+            return balance.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            return INVALID;
+        }
+    }
+}
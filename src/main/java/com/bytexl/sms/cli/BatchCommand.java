@@ -0,0 +1,161 @@
+package com.bytexl.sms.cli;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * BatchCommand - One parsed line of a command file
+ *
+ * Lines are CSV records, so names containing commas can be quoted:
+ *   add,name,email[,phone]
+ *   update,studentId,name,email,phone   (empty fields keep the current value)
+ *   pay,studentId,amount[,requestId]
+ *   refund,studentId,amount[,requestId]
+ *
+ * With a requestId a payment or refund is applied at most once, so a
+ * command file can safely be run again after a failure.
+ *   balance,studentId
+ */
+public class BatchCommand {
+
+    public enum Operation { ADD, UPDATE, PAY, REFUND, BALANCE }
+
+    private final long lineNumber;
+    private final Operation operation;
+    private final Long studentId;
+    private final BigDecimal amount;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String requestId;
+
+    private BatchCommand(long lineNumber, Operation operation, Long studentId, BigDecimal amount,
+                         String name, String email, String phone, String requestId) {
+        this.lineNumber = lineNumber;
+        this.operation = operation;
+        this.studentId = studentId;
+        this.amount = amount;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.requestId = requestId;
+    }
+
+    /**
+     * Parses a record; throws IllegalArgumentException describing what is wrong
+     */
+    public static BatchCommand parse(long lineNumber, List<String> record) {
+        Operation operation;
+        try {
+            operation = Operation.valueOf(field(record, 0).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown command: " + field(record, 0));
+        }
+
+        switch (operation) {
+            case ADD:
+                expectFields(record, 3, 4);
+                return new BatchCommand(lineNumber, operation, null, null,
+                        required(record, 1, "name"), required(record, 2, "email"), optional(record, 3), null);
+            case UPDATE:
+                expectFields(record, 5, 5);
+                return new BatchCommand(lineNumber, operation, studentId(record), null,
+                        optional(record, 2), optional(record, 3), optional(record, 4), null);
+            case PAY:
+            case REFUND:
+                expectFields(record, 3, 4);
+                return new BatchCommand(lineNumber, operation, studentId(record), amount(record),
+                        null, null, null, optional(record, 3));
+            default:
+                expectFields(record, 2, 2);
+                return new BatchCommand(lineNumber, operation, studentId(record), null, null, null, null, null);
+        }
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Null for ADD
+     */
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    /**
+     * Idempotency key of a PAY or REFUND, or null
+     */
+    public String getRequestId() {
+        return requestId;
+    }
+
+    private static void expectFields(List<String> record, int min, int max) {
+        if (record.size() < min || record.size() > max) {
+            String expected = min == max ? String.valueOf(min) : min + "-" + max;
+            throw new IllegalArgumentException(field(record, 0) + " expects " + expected
+                    + " fields, got " + record.size());
+        }
+    }
+
+    private static Long studentId(List<String> record) {
+        String value = required(record, 1, "student ID");
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid student ID: " + value);
+        }
+    }
+
+    private static BigDecimal amount(List<String> record) {
+        String value = required(record, 2, "amount");
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + value);
+        }
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        return amount;
+    }
+
+    private static String required(List<String> record, int index, String description) {
+        String value = optional(record, index);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + description);
+        }
+        return value;
+    }
+
+    private static String optional(List<String> record, int index) {
+        String value = field(record, index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+}
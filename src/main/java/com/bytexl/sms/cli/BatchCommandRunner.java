@@ -0,0 +1,313 @@
+package com.bytexl.sms.cli;
+
+import com.bytexl.sms.csv.CsvReader;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.service.FeeService;
+import com.bytexl.sms.service.StudentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BatchCommandRunner - Runs a stream of commands (see BatchCommand) unattended
+ *
+ * The calling thread parses the input and deals commands out to a fixed
+ * number of partitions by student ID, so commands for one student run in
+ * input order while different students proceed in parallel. Each partition
+ * worker applies batch.size commands per transaction; if the transaction
+ * fails, that batch is replayed one command per transaction so only the
+ * failing commands are reported. Bounded queues keep memory flat however
+ * long the input is.
+ *
+ * Every command produces one tab-separated output line - input line number,
+ * OK or FAILED, and the result or error. Workers format a whole batch before
+ * writing it, so lines from different partitions are not in input order.
+ */
+@Component
+public class BatchCommandRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchCommandRunner.class);
+
+    private static final int QUEUE_CAPACITY = 4;
+    private static final List<BatchCommand> END_OF_INPUT = Collections.emptyList();
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment env;
+
+    /**
+     * Runs with batch.parallelism workers and batch.size commands per transaction
+     */
+    public BatchReport run(Reader input, Writer output) throws IOException {
+        return run(input, output,
+                env.getProperty("batch.parallelism", Integer.class, 4),
+                env.getProperty("batch.size", Integer.class, 500));
+    }
+
+    @SuppressWarnings("unchecked")
+    public BatchReport run(Reader input, Writer output, int parallelism, int batchSize) throws IOException {
+        if (parallelism < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Parallelism and batch size must be positive");
+        }
+
+        long start = System.currentTimeMillis();
+        BatchReport report = new BatchReport();
+        ResultWriter results = new ResultWriter(output);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        BlockingQueue<List<BatchCommand>>[] queues = new BlockingQueue[parallelism];
+        Thread[] workers = new Thread[parallelism];
+        List<BatchCommand>[] pending = new List[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<List<BatchCommand>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            queues[i] = queue;
+            pending[i] = new ArrayList<>(batchSize);
+            workers[i] = new Thread(() -> drain(queue, transactionTemplate, results, report), "batch-worker-" + i);
+            workers[i].start();
+        }
+
+        Reader buffered = input instanceof BufferedReader ? input : new BufferedReader(input);
+        try (CsvReader reader = new CsvReader(buffered)) {
+            StringBuilder rejected = new StringBuilder();
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (isBlankOrComment(record)) {
+                    continue;
+                }
+                report.commandRead();
+
+                BatchCommand command;
+                try {
+                    command = BatchCommand.parse(reader.getLineNumber(), record);
+                } catch (IllegalArgumentException e) {
+                    report.failed(1);
+                    appendResult(rejected, reader.getLineNumber(), false, e.getMessage());
+                    continue;
+                }
+
+                int partition = partitionOf(command, parallelism);
+                pending[partition].add(command);
+                if (pending[partition].size() == batchSize) {
+                    enqueue(queues[partition], pending[partition], workers[partition]);
+                    pending[partition] = new ArrayList<>(batchSize);
+                    results.write(rejected);
+                }
+            }
+            for (int i = 0; i < parallelism; i++) {
+                if (!pending[i].isEmpty()) {
+                    enqueue(queues[i], pending[i], workers[i]);
+                }
+            }
+            results.write(rejected);
+        } finally {
+            try {
+                for (int i = 0; i < parallelism; i++) {
+                    enqueue(queues[i], END_OF_INPUT, workers[i]);
+                }
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Thread worker : workers) {
+                    worker.interrupt();
+                }
+            }
+        }
+
+        results.flush();
+        report.finished(System.currentTimeMillis() - start);
+        logger.info("Batch run finished: {}", report);
+        return report;
+    }
+
+    private static boolean isBlankOrComment(List<String> record) {
+        String first = record.isEmpty() ? "" : record.get(0).trim();
+        return (record.size() <= 1 && first.isEmpty()) || first.startsWith("#");
+    }
+
+    /**
+     * Commands for the same student always land in the same partition
+     */
+    private static int partitionOf(BatchCommand command, int partitions) {
+        long key = command.getStudentId() != null ? command.getStudentId() : command.getLineNumber();
+        return Math.floorMod(Long.hashCode(key), partitions);
+    }
+
+    /**
+     * Blocks while the partition's queue is full - this is the backpressure point
+     */
+    private void enqueue(BlockingQueue<List<BatchCommand>> queue, List<BatchCommand> batch, Thread worker)
+            throws InterruptedIOException {
+        try {
+            while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+                if (!worker.isAlive()) {
+                    throw new IllegalStateException(worker.getName() + " terminated unexpectedly");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch run interrupted");
+        }
+    }
+
+    private void drain(BlockingQueue<List<BatchCommand>> queue, TransactionTemplate transactionTemplate,
+                       ResultWriter results, BatchReport report) {
+        StringBuilder out = new StringBuilder();
+        try {
+            while (true) {
+                List<BatchCommand> batch = queue.take();
+                if (batch == END_OF_INPUT) {
+                    return;
+                }
+                process(batch, transactionTemplate, out, report);
+                results.write(out);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies the batch in one transaction; if that fails, replays it one
+     * command per transaction so only the offending commands fail
+     */
+    private void process(List<BatchCommand> batch, TransactionTemplate transactionTemplate,
+                         StringBuilder out, BatchReport report) {
+        if (batch.size() > 1) {
+            try {
+                List<String> details = transactionTemplate.execute(status -> {
+                    List<String> applied = new ArrayList<>(batch.size());
+                    for (BatchCommand command : batch) {
+                        applied.add(execute(command));
+                    }
+                    return applied;
+                });
+                for (int i = 0; i < batch.size(); i++) {
+                    appendResult(out, batch.get(i).getLineNumber(), true, details.get(i));
+                }
+                report.succeeded(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                logger.debug("Batch of {} commands failed, applying one by one", batch.size(), e);
+            }
+        }
+
+        for (BatchCommand command : batch) {
+            try {
+                String detail = transactionTemplate.execute(status -> execute(command));
+                appendResult(out, command.getLineNumber(), true, detail);
+                report.succeeded(1);
+            } catch (RuntimeException e) {
+                appendResult(out, command.getLineNumber(), false,
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                report.failed(1);
+            }
+        }
+    }
+
+    private String execute(BatchCommand command) {
+        switch (command.getOperation()) {
+            case ADD:
+                Student student = new Student(command.getName(), command.getEmail(), command.getPhone());
+                studentService.addStudent(student);
+                return "student " + student.getStudentId();
+            case UPDATE:
+                return "updated " + update(command);
+            case PAY:
+                if (command.getRequestId() != null) {
+                    return "balance " + feeService.processPayment(command.getRequestId(),
+                            command.getStudentId(), command.getAmount()).getNewBalance();
+                }
+                return "balance " + feeService.processPayment(command.getStudentId(), command.getAmount());
+            case REFUND:
+                if (command.getRequestId() != null) {
+                    return "balance " + feeService.processRefund(command.getRequestId(),
+                            command.getStudentId(), command.getAmount()).getNewBalance();
+                }
+                return "balance " + feeService.processRefund(command.getStudentId(), command.getAmount());
+            case BALANCE:
+                return "balance " + feeService.getBalance(command.getStudentId());
+            default:
+                throw new IllegalStateException("Unhandled command: " + command.getOperation());
+        }
+    }
+
+    private Long update(BatchCommand command) {
+        return studentService.updateStudent(command.getStudentId(),
+                command.getName(), command.getEmail(), command.getPhone()).getStudentId();
+    }
+
+    private static void appendResult(StringBuilder out, long lineNumber, boolean ok, String detail) {
+        out.append(lineNumber).append('\t').append(ok ? "OK" : "FAILED").append('\t');
+        String text = detail == null ? "" : detail;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            out.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Serializes whole chunks from the workers onto the output. The first
+     * write error is kept and rethrown when the run finishes.
+     */
+    private static class ResultWriter {
+
+        private final Writer output;
+        private IOException error;
+
+        ResultWriter(Writer output) {
+            this.output = output;
+        }
+
+        /**
+         * Writes and clears the chunk
+         */
+        synchronized void write(StringBuilder chunk) {
+            if (chunk.length() == 0) {
+                return;
+            }
+            if (error == null) {
+                try {
+                    output.append(chunk);
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            chunk.setLength(0);
+        }
+
+        synchronized void flush() throws IOException {
+            if (error != null) {
+                throw error;
+            }
+            output.flush();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bytexl.sms.cli;
+
+/**
+ * BatchReport - Outcome of a batch command run
+ * Per-command results go to the run's output; this only keeps the counters.
+ */
+public class BatchReport {
+
+    private long commandsRead;
+    private long succeeded;
+    private long failed;
+    private long elapsedMillis;
+
+    synchronized void commandRead() {
+        commandsRead++;
+    }
+
+    synchronized void succeeded(int count) {
+        succeeded += count;
+    }
+
+    synchronized void failed(int count) {
+        failed += count;
+    }
+
+    synchronized void finished(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public synchronized long getCommandsRead() {
+        return commandsRead;
+    }
+
+    public synchronized long getSucceeded() {
+        return succeeded;
+    }
+
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    public synchronized long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "BatchReport{" +
+                "commandsRead=" + commandsRead +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,243 @@
+package com.bytexl.sms.cli;
+
+import com.bytexl.sms.dto.StudentSummary;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * StudentTableRenderer - Streams student listings page by page
+ *
+ * Rows are appended to one reusable buffer with hand-written padding and
+ * escaping (no String.format per row) and written out in large chunks, so
+ * the cost per row is a few appends rather than a format-string parse and a
+ * synchronized console write. Only the current page is held in memory.
+ *
+ * Formats: TABLE (aligned columns for people), TSV (header row, tabs and
+ * line breaks in values replaced by spaces) and JSONL (one object per line).
+ */
+public class StudentTableRenderer {
+
+    public enum Format {
+        TABLE, TSV, JSONL;
+
+        public static Format parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown format: " + name + " (use table, tsv or jsonl)");
+            }
+        }
+    }
+
+    /**
+     * Source of keyset pages: students with ID greater than afterId (null for the first page)
+     */
+    public interface PageSource {
+        List<StudentSummary> page(Long afterId, int pageSize);
+    }
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private final Format format;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private char[] chunk = new char[FLUSH_THRESHOLD + 1024];
+
+    public StudentTableRenderer(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Renders every page the source returns and flushes the writer.
+     * The header is written with the first row, so nothing is written for
+     * an empty source. Returns the number of rows.
+     */
+    public long render(PageSource source, int pageSize) throws IOException {
+        long rows = 0;
+        List<StudentSummary> page = source.page(null, pageSize);
+        while (!page.isEmpty()) {
+            for (StudentSummary student : page) {
+                if (rows++ == 0) {
+                    appendHeader();
+                }
+                appendRow(student);
+                if (buffer.length() >= FLUSH_THRESHOLD) {
+                    drain();
+                }
+            }
+            page = page.size() < pageSize ? List.of()
+                    : source.page(page.get(page.size() - 1).getStudentId(), pageSize);
+        }
+        drain();
+        out.flush();
+        return rows;
+    }
+
+    private void appendHeader() {
+        switch (format) {
+            case TABLE:
+                cell("ID", 5);
+                cell("Name", 20);
+                cell("Email", 30);
+                cell("Phone", 15);
+                cell("Balance", 10);
+                buffer.setCharAt(buffer.length() - 1, '\n');
+                repeat('-', 85);
+                buffer.append('\n');
+                break;
+            case TSV:
+                buffer.append("student_id\tname\temail\tphone\tbalance\tcourse\n");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void appendRow(StudentSummary student) {
+        switch (format) {
+            case TABLE:
+                appendTableRow(student);
+                break;
+            case TSV:
+                buffer.append(student.getStudentId()).append('\t');
+                appendTsv(student.getName());
+                buffer.append('\t');
+                appendTsv(student.getEmail());
+                buffer.append('\t');
+                appendTsv(student.getPhone());
+                buffer.append('\t');
+                appendAmount(student.getBalance());
+                buffer.append('\t');
+                appendTsv(student.getCourseName());
+                buffer.append('\n');
+                break;
+            default:
+                buffer.append("{\"studentId\":").append(student.getStudentId());
+                buffer.append(",\"name\":");
+                appendJson(student.getName());
+                buffer.append(",\"email\":");
+                appendJson(student.getEmail());
+                buffer.append(",\"phone\":");
+                appendJson(student.getPhone());
+                buffer.append(",\"balance\":");
+                if (student.getBalance() == null) {
+                    buffer.append("null");
+                } else {
+                    appendAmount(student.getBalance());
+                }
+                buffer.append(",\"course\":");
+                appendJson(student.getCourseName());
+                buffer.append("}\n");
+                break;
+        }
+    }
+
+    /**
+     * Same layout as "%-5d %-20s %-30s %-15s %-10s": left-aligned, padded, never truncated
+     */
+    private void appendTableRow(StudentSummary student) {
+        int start = buffer.length();
+        buffer.append(student.getStudentId().longValue());
+        pad(start, 5);
+        buffer.append(' ');
+        cell(student.getName(), 20);
+        cell(student.getEmail(), 30);
+        cell(student.getPhone(), 15);
+        start = buffer.length();
+        appendAmount(student.getBalance());
+        pad(start, 10);
+        buffer.append('\n');
+    }
+
+    /**
+     * Appends the value left-aligned in a column of the given width,
+     * then the column separator
+     */
+    private void cell(String value, int width) {
+        int start = buffer.length();
+        buffer.append(value);
+        pad(start, width);
+        buffer.append(' ');
+    }
+
+    private void pad(int start, int width) {
+        repeat(' ', width - (buffer.length() - start));
+    }
+
+    private void appendAmount(BigDecimal amount) {
+        buffer.append(amount == null ? "" : amount.toPlainString());
+    }
+
+    private void appendTsv(String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            buffer.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    private void appendJson(String value) {
+        if (value == null) {
+            buffer.append("null");
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    buffer.append("\\\"");
+                    break;
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        buffer.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        buffer.append(c);
+                    }
+            }
+        }
+        buffer.append('"');
+    }
+
+    private void repeat(char c, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.append(c);
+        }
+    }
+
+    /**
+     * Copies the buffer into the reusable chunk and writes it in one call
+     */
+    private void drain() throws IOException {
+        int length = buffer.length();
+        if (length == 0) {
+            return;
+        }
+        if (chunk.length < length) {
+            chunk = new char[length];
+        }
+        buffer.getChars(0, length, chunk, 0);
+        out.write(chunk, 0, length);
+        buffer.setLength(0);
+    }
+}
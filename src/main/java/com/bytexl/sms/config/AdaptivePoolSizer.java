@@ -0,0 +1,191 @@
+package com.bytexl.sms.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AdaptivePoolSizer - Watches the Hikari pools and resizes them at runtime
+ * Every interval each pool is sampled for utilization, threads waiting for a
+ * connection and the mean connection wait since the last sample (from
+ * Hikari's hikaricp.connections.acquire timer).
+ *
+ * A saturated pool (callers waiting, or mean wait above the threshold) is
+ * logged and, with db.pool.adaptive=true, grown by a quarter up to maxSize.
+ * The warning is logged once when a pool becomes saturated; later samples
+ * log at debug (info when the pool grows) until it recovers.
+ * A pool below half utilization for a minute is shrunk back towards minSize.
+ */
+@Component
+public class AdaptivePoolSizer implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private static final double LOW_UTILIZATION = 0.5;
+    private static final long SHRINK_AFTER_MS = 60_000;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final List<PoolState> pools = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private boolean adaptive;
+    private int maxSize;
+    private long waitThresholdNanos;
+    private int shrinkAfterSamples;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (dataSource instanceof ReadWriteRoutingDataSource) {
+            ReadWriteRoutingDataSource routing = (ReadWriteRoutingDataSource) dataSource;
+            pools.add(new PoolState(routing.getPrimary()));
+            pools.add(new PoolState(routing.getReplica()));
+        } else if (dataSource instanceof HikariDataSource) {
+            pools.add(new PoolState((HikariDataSource) dataSource));
+        }
+        if (pools.isEmpty()) {
+            return;
+        }
+
+        adaptive = env.getProperty("db.pool.adaptive", Boolean.class, false);
+        maxSize = env.getProperty("db.pool.adaptive.maxSize", Integer.class, 40);
+        waitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+                env.getProperty("db.pool.adaptive.waitThresholdMs", Long.class, 20L));
+        long intervalMs = env.getProperty("db.pool.adaptive.intervalMs", Long.class, 5000L);
+        shrinkAfterSamples = (int) Math.max(1, SHRINK_AFTER_MS / intervalMs);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sample, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void sample() {
+        for (PoolState pool : pools) {
+            try {
+                pool.sample();
+            } catch (RuntimeException e) {
+                logger.warn("Could not sample pool {}", pool.dataSource.getPoolName(), e);
+            }
+        }
+    }
+
+    /**
+     * Per-pool bounds and the acquisition counters seen at the previous sample
+     */
+    private class PoolState {
+
+        private final HikariDataSource dataSource;
+        private final int minSize;
+        private long lastCount;
+        private double lastTotalNanos;
+        private int lowSamples;
+        private boolean saturated;
+
+        PoolState(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.minSize = env.getProperty("db.pool.adaptive.minSize", Integer.class,
+                    dataSource.getMaximumPoolSize());
+        }
+
+        void sample() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return;
+            }
+            HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+            int size = config.getMaximumPoolSize();
+            int active = pool.getActiveConnections();
+            int waiting = pool.getThreadsAwaitingConnection();
+            long meanWaitNanos = meanWaitSinceLastSample();
+            double utilization = (double) active / size;
+
+            if (waiting > 0 || meanWaitNanos > waitThresholdNanos) {
+                lowSamples = 0;
+                int target = Math.min(maxSize, size + Math.max(1, size / 4));
+                boolean grow = adaptive && target > size;
+                String message = "Pool {} saturated: active={}/{}, waiting={}, meanWait={}ms{}";
+                Object[] args = {dataSource.getPoolName(), active, size, waiting,
+                        TimeUnit.NANOSECONDS.toMillis(meanWaitNanos), grow ? ", growing to " + target : ""};
+                if (!saturated) {
+                    logger.warn(message, args);
+                    saturated = true;
+                } else if (grow) {
+                    logger.info(message, args);
+                } else {
+                    logger.debug(message, args);
+                }
+                if (grow) {
+                    config.setMaximumPoolSize(target);
+                }
+                return;
+            }
+            if (saturated) {
+                logger.info("Pool {} no longer saturated: active={}/{}", dataSource.getPoolName(), active, size);
+                saturated = false;
+            }
+            if (utilization < LOW_UTILIZATION && size > minSize) {
+                if (++lowSamples >= shrinkAfterSamples && adaptive) {
+                    int target = Math.max(minSize, size - Math.max(1, size / 4));
+                    logger.info("Pool {} underused: active={}/{}, shrinking to {}",
+                            dataSource.getPoolName(), active, size, target);
+                    config.setMaximumPoolSize(target);
+                    lowSamples = 0;
+                }
+            } else {
+                lowSamples = 0;
+            }
+        }
+
+        private long meanWaitSinceLastSample() {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return 0;
+            }
+            Timer acquire = registry.find("hikaricp.connections.acquire")
+                    .tag("pool", dataSource.getPoolName()).timer();
+            if (acquire == null) {
+                return 0;
+            }
+            long count = acquire.count();
+            double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+            long acquisitions = count - lastCount;
+            double waited = totalNanos - lastTotalNanos;
+            lastCount = count;
+            lastTotalNanos = totalNanos;
+            return acquisitions > 0 ? (long) (waited / acquisitions) : 0;
+        }
+    }
+}
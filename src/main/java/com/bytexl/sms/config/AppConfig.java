@@ -1,11 +1,20 @@
 package com.bytexl.sms.config;
 
+import com.bytexl.sms.outbox.FileOutboxSink;
+import com.bytexl.sms.outbox.LogOutboxSink;
+import com.bytexl.sms.outbox.OutboxSink;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.orm.hibernate5.HibernateTransactionManager;
@@ -13,6 +22,8 @@ import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Properties;
 
 /**
@@ -22,45 +33,143 @@ import java.util.Properties;
  * - Component Scanning
  * - Transaction Management
  * - Spring + Hibernate Integration
+ *
+ * Components are found by scanning com.bytexl.sms, except under the
+ * fast-start profile, which registers them explicitly (see FastStartConfig).
  */
 @Configuration
 @EnableTransactionManagement
-@ComponentScan(basePackages = "com.bytexl.sms")
+@Import(FastStartConfig.class)
 @PropertySource("classpath:database.properties")
 public class AppConfig {
 
+    @Configuration
+    @Profile("!" + FastStartConfig.PROFILE)
+    @ComponentScan(basePackages = "com.bytexl.sms")
+    static class ComponentScanConfig {
+    }
+
+    private static final String[] MYSQL_DRIVER_OPTIONS = {
+            "cachePrepStmts", "prepStmtCacheSize", "prepStmtCacheSqlLimit", "useServerPrepStmts",
+            "rewriteBatchedStatements", "cacheResultSetMetadata", "cacheServerConfiguration",
+            "elideSetAutoCommits", "useLocalSessionState"
+    };
+
     @Autowired
     private Environment env;
 
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
     /**
      * DataSource Bean - HikariCP for connection pooling
      * Demonstrates dependency injection of database configuration
+     *
+     * When db.replica.url is set, read-only transactions are routed to a
+     * separate replica pool (see ReadWriteRoutingDataSource).
      */
     @Bean
     public DataSource dataSource() {
+        HikariDataSource primary = createPool("db", "sms-primary");
+        if (!env.containsProperty("db.replica.url")) {
+            return primary;
+        }
+        return new ReadWriteRoutingDataSource(primary, createPool("db.replica", "sms-replica"));
+    }
+
+    /**
+     * Builds a Hikari pool from the properties under the given prefix.
+     * Anything not set for the replica falls back to the primary's db.* value.
+     */
+    private HikariDataSource createPool(String prefix, String poolName) {
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(env.getProperty("db.url", "jdbc:mysql://localhost:3306/student_management"));
-        config.setUsername(env.getProperty("db.username", "root"));
-        config.setPassword(env.getProperty("db.password", ""));
-        config.setDriverClassName(env.getProperty("db.driver", "com.mysql.cj.jdbc.Driver"));
-        
+        config.setJdbcUrl(poolProperty(prefix, "url", "jdbc:mysql://localhost:3306/student_management"));
+        config.setUsername(poolProperty(prefix, "username", "root"));
+        config.setPassword(poolProperty(prefix, "password", ""));
+        config.setDriverClassName(poolProperty(prefix, "driver", "com.mysql.cj.jdbc.Driver"));
+
         // Connection pool settings
-        config.setMaximumPoolSize(10);
-        config.setMinimumIdle(5);
-        config.setConnectionTimeout(30000);
-        
+        config.setMaximumPoolSize(Integer.parseInt(poolProperty(prefix, "maxActive", "10")));
+        config.setMinimumIdle(Integer.parseInt(poolProperty(prefix, "minIdle", "2")));
+        config.setConnectionTimeout(Long.parseLong(poolProperty(prefix, "connectionTimeout", "30000")));
+        config.setIdleTimeout(Long.parseLong(poolProperty(prefix, "idleTimeout", "600000")));
+        config.setMaxLifetime(Long.parseLong(poolProperty(prefix, "maxLifetime", "1800000")));
+        config.setLeakDetectionThreshold(Long.parseLong(poolProperty(prefix, "leakDetectionThreshold", "0")));
+
+        // Statement caching and batch rewriting are MySQL driver options
+        if (config.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            for (String option : MYSQL_DRIVER_OPTIONS) {
+                String value = env.getProperty("db.mysql." + option);
+                if (value != null) {
+                    config.addDataSourceProperty(option, value);
+                }
+            }
+        }
+
+        // Pool gauges (active, idle, pending) and acquisition timings
+        config.setPoolName(poolName);
+        config.setMetricRegistry(meterRegistry.getIfAvailable());
+
         return new HikariDataSource(config);
     }
 
+    private boolean isFastStart() {
+        return FastStartConfig.isActive(env);
+    }
+
+    private String poolProperty(String prefix, String name, String defaultValue) {
+        return env.getProperty(prefix + "." + name, env.getProperty("db." + name, defaultValue));
+    }
+
+    /**
+     * Flyway Bean - versioned schema migrations from db/migration
+     * db.migration.mode=validate (default) only checks that the schema is
+     * current and fails startup otherwise; migrate applies pending migrations
+     * and must be asked for explicitly; none leaves the schema alone.
+     * Existing databases are baselined at V1 when migrated.
+     * The fast-start profile always uses none.
+     */
+    @Bean
+    public Flyway flyway() {
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource())
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+
+        String mode = isFastStart() ? "none" : env.getProperty("db.migration.mode", "validate");
+        switch (mode) {
+            case "migrate":
+                flyway.migrate();
+                break;
+            case "validate":
+                flyway.validate();
+                break;
+            case "none":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown db.migration.mode: " + mode);
+        }
+        return flyway;
+    }
+
     /**
      * SessionFactory Bean - Hibernate configuration
      * Demonstrates Spring-Hibernate integration
+     * Created after migrations so Hibernate validates the migrated schema.
+     * Under fast-start the entity classes are listed instead of scanned.
      */
     @Bean
+    @DependsOn("flyway")
     public LocalSessionFactoryBean sessionFactory() {
         LocalSessionFactoryBean sessionFactory = new LocalSessionFactoryBean();
         sessionFactory.setDataSource(dataSource());
-        sessionFactory.setPackagesToScan("com.bytexl.sms.model");
+        if (isFastStart()) {
+            sessionFactory.setAnnotatedClasses(FastStartConfig.ENTITY_CLASSES);
+        } else {
+            sessionFactory.setPackagesToScan("com.bytexl.sms.model");
+        }
         sessionFactory.setHibernateProperties(hibernateProperties());
         return sessionFactory;
     }
@@ -70,22 +179,73 @@ public class AppConfig {
      */
     private Properties hibernateProperties() {
         Properties properties = new Properties();
-        properties.put("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect");
-        properties.put("hibernate.show_sql", "true");
-        properties.put("hibernate.format_sql", "true");
-        properties.put("hibernate.hbm2ddl.auto", "update");
+        properties.put("hibernate.dialect", env.getProperty("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect"));
+        properties.put("hibernate.show_sql", env.getProperty("hibernate.show_sql", "false"));
+        properties.put("hibernate.format_sql", env.getProperty("hibernate.format_sql", "false"));
+        if (isFastStart()) {
+            // No schema validation, and no JDBC metadata lookups while booting
+            properties.put("hibernate.hbm2ddl.auto", "none");
+            properties.put("hibernate.temp.use_jdbc_metadata_defaults", "false");
+        } else {
+            properties.put("hibernate.hbm2ddl.auto", env.getProperty("hibernate.hbm2ddl.auto", "validate"));
+        }
         properties.put("hibernate.current_session_context_class", "org.springframework.orm.hibernate5.SpringSessionContext");
+
+        // JDBC batching - inserts and updates are grouped per table so consecutive
+        // statements share a batch; versioned rows can be batched as well
+        properties.put("hibernate.jdbc.batch_size", env.getProperty("hibernate.jdbc.batch_size", "50"));
+        properties.put("hibernate.order_inserts", env.getProperty("hibernate.order_inserts", "true"));
+        properties.put("hibernate.order_updates", env.getProperty("hibernate.order_updates", "true"));
+        properties.put("hibernate.jdbc.batch_versioned_data", "true");
+        // Unset by default: with useCursorFetch every query given a fetch size opens
+        // a server-side cursor, so only streaming queries set one themselves
+        if (env.containsProperty("hibernate.jdbc.fetch_size")) {
+            properties.put("hibernate.jdbc.fetch_size", env.getProperty("hibernate.jdbc.fetch_size"));
+        }
+
+        // Second-level cache - Caffeine reads its JCache regions from application.conf
+        properties.put("hibernate.cache.use_second_level_cache",
+                env.getProperty("hibernate.cache.use_second_level_cache", "true"));
+        properties.put("hibernate.cache.use_query_cache",
+                env.getProperty("hibernate.cache.use_query_cache", "true"));
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.provider", env.getProperty("hibernate.javax.cache.provider",
+                "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"));
+        if (env.containsProperty("hibernate.javax.cache.uri")) {
+            properties.put("hibernate.javax.cache.uri", env.getProperty("hibernate.javax.cache.uri"));
+        }
+        properties.put("hibernate.generate_statistics", env.getProperty("hibernate.generate_statistics", "true"));
         return properties;
     }
 
     /**
      * Transaction Manager Bean
      * Enables @Transactional annotation support
+     * With a replica, read-only transactions do not populate the second-level
+     * cache (see ReplicaAwareTransactionManager).
      */
     @Bean
     public HibernateTransactionManager transactionManager() {
-        HibernateTransactionManager txManager = new HibernateTransactionManager();
+        HibernateTransactionManager txManager = env.containsProperty("db.replica.url")
+                ? new ReplicaAwareTransactionManager() : new HibernateTransactionManager();
         txManager.setSessionFactory(sessionFactory().getObject());
         return txManager;
     }
+
+    /**
+     * Destination of the outbox relay - outbox.sink=log (default) writes events
+     * to the "outbox" logger, outbox.sink=file appends them to outbox.file
+     */
+    @Bean
+    public OutboxSink outboxSink() throws IOException {
+        String sink = env.getProperty("outbox.sink", "log");
+        switch (sink) {
+            case "log":
+                return new LogOutboxSink();
+            case "file":
+                return new FileOutboxSink(Paths.get(env.getProperty("outbox.file", "outbox-events.jsonl")));
+            default:
+                throw new IllegalArgumentException("Unknown outbox.sink: " + sink);
+        }
+    }
 }
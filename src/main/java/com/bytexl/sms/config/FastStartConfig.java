@@ -0,0 +1,125 @@
+package com.bytexl.sms.config;
+
+import com.bytexl.sms.balance.BalanceSnapshot;
+import com.bytexl.sms.cli.BatchCommandRunner;
+import com.bytexl.sms.csv.CsvExportService;
+import com.bytexl.sms.csv.CsvImportService;
+import com.bytexl.sms.dao.ArchiveDAO;
+import com.bytexl.sms.dao.CourseDAO;
+import com.bytexl.sms.dao.OutboxDAO;
+import com.bytexl.sms.dao.PaymentDAO;
+import com.bytexl.sms.dao.PaymentRequestDAO;
+import com.bytexl.sms.dao.ReportDAO;
+import com.bytexl.sms.dao.StudentDAO;
+import com.bytexl.sms.dao.TermRolloverDAO;
+import com.bytexl.sms.metrics.MetricsAspect;
+import com.bytexl.sms.metrics.MetricsBinder;
+import com.bytexl.sms.metrics.MetricsReporter;
+import com.bytexl.sms.model.Course;
+import com.bytexl.sms.model.Payment;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.outbox.OutboxRelay;
+import com.bytexl.sms.outbox.OutboxWriter;
+import com.bytexl.sms.rollover.TermRolloverService;
+import com.bytexl.sms.search.StudentSearchIndex;
+import com.bytexl.sms.service.ArchivalService;
+import com.bytexl.sms.service.AsyncPaymentProcessor;
+import com.bytexl.sms.service.CacheStatisticsService;
+import com.bytexl.sms.service.CourseService;
+import com.bytexl.sms.service.FeeService;
+import com.bytexl.sms.service.LedgerService;
+import com.bytexl.sms.service.PaymentLedger;
+import com.bytexl.sms.service.RecentPaymentRequests;
+import com.bytexl.sms.service.ReportService;
+import com.bytexl.sms.service.StudentService;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * FastStartConfig - Startup path for short-lived runs (profile "fast-start")
+ *
+ * Registers the application components explicitly instead of scanning the
+ * classpath, hands Hibernate a fixed entity list instead of scanning
+ * com.bytexl.sms.model, and makes every application bean lazy, so a run
+ * only creates what it uses. Components that would start background work
+ * (search index and balance snapshot warm-ups, outbox relay) check
+ * isActive() and skip it. AppConfig also skips Flyway and schema
+ * validation under this profile: the schema must already be migrated.
+ *
+ * New components must be added to the @Import list and new entities to
+ * ENTITY_CLASSES, or this profile will not see them.
+ */
+@Configuration
+@Profile(FastStartConfig.PROFILE)
+@Import({
+        MetricsConfig.class,
+        AdaptivePoolSizer.class,
+        BalanceSnapshot.class,
+        BatchCommandRunner.class,
+        CsvExportService.class,
+        CsvImportService.class,
+        ArchiveDAO.class,
+        CourseDAO.class,
+        OutboxDAO.class,
+        PaymentDAO.class,
+        PaymentRequestDAO.class,
+        ReportDAO.class,
+        StudentDAO.class,
+        TermRolloverDAO.class,
+        MetricsAspect.class,
+        MetricsBinder.class,
+        MetricsReporter.class,
+        OutboxRelay.class,
+        OutboxWriter.class,
+        TermRolloverService.class,
+        StudentSearchIndex.class,
+        ArchivalService.class,
+        AsyncPaymentProcessor.class,
+        CacheStatisticsService.class,
+        CourseService.class,
+        FeeService.class,
+        LedgerService.class,
+        PaymentLedger.class,
+        RecentPaymentRequests.class,
+        ReportService.class,
+        StudentService.class
+})
+public class FastStartConfig {
+
+    public static final String PROFILE = "fast-start";
+
+    /**
+     * Mapped entities, registered with Hibernate without a package scan
+     */
+    public static final Class<?>[] ENTITY_CLASSES = {Course.class, Student.class, Payment.class};
+
+    public static boolean isActive(Environment env) {
+        return env.acceptsProfiles(Profiles.of(PROFILE));
+    }
+
+    /**
+     * Marks application beans lazy; infrastructure (AOP, transaction
+     * advisors) stays eager so proxies are in place when beans are created.
+     * Lazy SmartInitializingSingleton beans never get
+     * afterSingletonsInstantiated(), so metrics binding, pool sizing and
+     * archival do not run under this profile.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyInitialization() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.getRole() != BeanDefinition.ROLE_APPLICATION) {
+                    continue;
+                }
+                definition.setLazyInit(true);
+            }
+        };
+    }
+}
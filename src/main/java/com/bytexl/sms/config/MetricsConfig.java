@@ -0,0 +1,36 @@
+package com.bytexl.sms.config;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.jmx.JmxConfig;
+import io.micrometer.jmx.JmxMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+
+/**
+ * MetricsConfig - Micrometer registry and AOP support for the metrics aspect
+ * Metrics are kept in memory (dumped by MetricsReporter) and, unless
+ * metrics.jmx.enabled=false, also published as JMX MBeans under "metrics".
+ */
+@Configuration
+@EnableAspectJAutoProxy(proxyTargetClass = true)
+public class MetricsConfig {
+
+    @Autowired
+    private Environment env;
+
+    @Bean(destroyMethod = "close")
+    public MeterRegistry meterRegistry() {
+        CompositeMeterRegistry registry = new CompositeMeterRegistry();
+        registry.add(new SimpleMeterRegistry());
+        if (env.getProperty("metrics.jmx.enabled", Boolean.class, true)) {
+            registry.add(new JmxMeterRegistry(JmxConfig.DEFAULT, Clock.SYSTEM));
+        }
+        return registry;
+    }
+}
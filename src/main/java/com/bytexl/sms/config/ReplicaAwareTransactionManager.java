@@ -0,0 +1,29 @@
+package com.bytexl.sms.config;
+
+import org.hibernate.CacheMode;
+import org.springframework.orm.hibernate5.HibernateTransactionManager;
+import org.springframework.orm.hibernate5.SessionHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ReplicaAwareTransactionManager - Keeps replica reads out of the second-level cache
+ *
+ * Read-only transactions run on the replica (see ReadWriteRoutingDataSource),
+ * which may lag the primary. If their Session put what it read into the
+ * cache, a balance evicted after a payment could be re-cached from the
+ * replica's older row and served for the rest of the region TTL. Their
+ * Session therefore uses CacheMode.GET: it still reads cached entities and
+ * query results but never adds to them.
+ */
+public class ReplicaAwareTransactionManager extends HibernateTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly()) {
+            SessionHolder holder = (SessionHolder) TransactionSynchronizationManager.getResource(obtainSessionFactory());
+            holder.getSession().setCacheMode(CacheMode.GET);
+        }
+    }
+}
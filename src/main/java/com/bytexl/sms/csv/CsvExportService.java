@@ -0,0 +1,98 @@
+package com.bytexl.sms.csv;
+
+import com.bytexl.sms.model.Course;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.service.CourseService;
+import com.bytexl.sms.service.StudentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongSupplier;
+
+/**
+ * CsvExportService - Streaming CSV export for students and courses
+ * Rows are written straight from a database cursor to the file channel,
+ * so no result list is ever materialized.
+ */
+@Service
+public class CsvExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    /**
+     * Export all students. Returns the number of rows written.
+     */
+    public long exportStudents(Path file) throws IOException {
+        try (CsvWriter csv = open(file)) {
+            csv.writeRecord("student_id", "name", "email", "phone", "balance",
+                    "course_id", "enrollment_date", "status");
+            long count = export(() -> studentService.forEachStudent(student -> {
+                Course course = student.getCourse();
+                write(csv, student.getStudentId(), student.getName(), student.getEmail(),
+                        student.getPhone(), student.getBalance(),
+                        course == null ? null : course.getCourseId(),
+                        student.getEnrollmentDate(), student.getStatus());
+            }));
+            logger.info("Exported {} students to {}", count, file);
+            return count;
+        }
+    }
+
+    /**
+     * Export all courses. Returns the number of rows written.
+     */
+    public long exportCourses(Path file) throws IOException {
+        try (CsvWriter csv = open(file)) {
+            csv.writeRecord("course_id", "course_name", "duration", "fee", "description");
+            long count = export(() -> courseService.forEachCourse(course ->
+                    write(csv, course.getCourseId(), course.getCourseName(), course.getDuration(),
+                            course.getFee(), course.getDescription())));
+            logger.info("Exported {} courses to {}", count, file);
+            return count;
+        }
+    }
+
+    private static CsvWriter open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new CsvWriter(new BufferedWriter(
+                Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE));
+    }
+
+    private static void write(CsvWriter csv, Object... fields) {
+        try {
+            csv.writeRecord(fields);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs the cursor walk, rethrowing write failures from inside the callback as IOException
+     */
+    private static long export(LongSupplier export) throws IOException {
+        try {
+            return export.getAsLong();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bytexl.sms.csv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CsvImportReport - Outcome of a CSV import
+ * Keeps counters plus the first few error messages, so a file with
+ * millions of bad rows does not grow the report without bound.
+ */
+public class CsvImportReport {
+
+    private static final int MAX_ERRORS = 100;
+
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private final List<String> errors = new ArrayList<>();
+
+    synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    synchronized void imported(int count) {
+        imported += count;
+    }
+
+    synchronized void rejected(long lineNumber, String reason) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Line " + lineNumber + ": " + reason);
+        }
+    }
+
+    public synchronized long getRowsRead() {
+        return rowsRead;
+    }
+
+    public synchronized long getImported() {
+        return imported;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    public synchronized List<String> getErrors() {
+        return Collections.unmodifiableList(new ArrayList<>(errors));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CsvImportReport{" +
+                "rowsRead=" + rowsRead +
+                ", imported=" + imported +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
@@ -0,0 +1,306 @@
+package com.bytexl.sms.csv;
+
+import com.bytexl.sms.model.Course;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.model.StudentStatus;
+import com.bytexl.sms.service.CourseService;
+import com.bytexl.sms.service.StudentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * CsvImportService - Streaming CSV import for students and courses
+ * The calling thread parses and validates rows; a dedicated writer thread
+ * persists them in batches through the service layer. The two are connected
+ * by a small bounded queue, so a slow database applies backpressure to the
+ * parser and memory stays flat regardless of file size.
+ *
+ * Columns are matched by header name, so files produced by CsvExportService
+ * can be imported directly (ID columns are ignored).
+ */
+@Service
+public class CsvImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvImportService.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    /**
+     * Import students. Required columns: name, email.
+     * Optional: phone, balance, course_id, status (ACTIVE, GRADUATED or
+     * DELETED, case-sensitive), enrollment_date.
+     * A student with a course but no balance is charged the course fee,
+     * matching StudentService.enrollStudentInCourse.
+     */
+    public CsvImportReport importStudents(Path file) throws IOException {
+        Map<Long, BigDecimal> courseFees = new HashMap<>();
+        for (Course course : courseService.getAllCourses()) {
+            courseFees.put(course.getCourseId(), course.getFee());
+        }
+        return runImport(file, (header, record) -> toStudent(header, record, courseFees),
+                studentService::addStudents);
+    }
+
+    /**
+     * Import courses. Required column: course_name.
+     * Optional: duration, fee, description.
+     */
+    public CsvImportReport importCourses(Path file) throws IOException {
+        return runImport(file, this::toCourse, courseService::addCourses);
+    }
+
+    private Student toStudent(Header header, List<String> record, Map<Long, BigDecimal> courseFees) {
+        String name = header.required(record, "name", 100);
+        String email = header.required(record, "email", 100);
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            throw new IllegalArgumentException("Invalid email: " + email);
+        }
+
+        Student student = new Student(name, email, header.optional(record, "phone", 15));
+
+        Long courseId = header.optionalLong(record, "course_id");
+        BigDecimal balance = header.optionalAmount(record, "balance");
+        if (courseId != null) {
+            if (!courseFees.containsKey(courseId)) {
+                throw new IllegalArgumentException("Unknown course ID: " + courseId);
+            }
+            Course course = new Course();
+            course.setCourseId(courseId);
+            student.setCourse(course);
+            if (balance == null) {
+                balance = courseFees.get(courseId);
+            }
+        }
+        if (balance != null) {
+            student.setBalance(balance);
+        }
+
+        String status = header.optional(record, "status", 20);
+        if (status != null) {
+            if (!StudentStatus.isKnown(status)) {
+                throw new IllegalArgumentException("Invalid status: " + status + " (expected "
+                        + StudentStatus.ACTIVE + ", " + StudentStatus.GRADUATED + " or " + StudentStatus.DELETED + ")");
+            }
+            student.setStatus(status);
+        }
+        String enrollmentDate = header.optional(record, "enrollment_date", 40);
+        if (enrollmentDate != null) {
+            student.setEnrollmentDate(LocalDateTime.parse(enrollmentDate));
+        }
+        return student;
+    }
+
+    private Course toCourse(Header header, List<String> record) {
+        Course course = new Course(
+                header.required(record, "course_name", 100),
+                header.optional(record, "duration", 50),
+                header.optionalAmount(record, "fee"));
+        course.setDescription(header.optional(record, "description", 500));
+        return course;
+    }
+
+    private <T> CsvImportReport runImport(Path file, RowMapper<T> mapper, BatchWriter<T> batchWriter)
+            throws IOException {
+        CsvImportReport report = new CsvImportReport();
+        BlockingQueue<List<ParsedRow<T>>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        List<ParsedRow<T>> endOfInput = Collections.emptyList();
+
+        Thread writerThread = new Thread(() -> drain(queue, endOfInput, batchWriter, report),
+                "csv-import-writer");
+        writerThread.start();
+
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<String> headerRecord = reader.readRecord();
+            if (headerRecord == null) {
+                throw new IllegalArgumentException("CSV file is empty: " + file);
+            }
+            Header header = new Header(headerRecord);
+
+            List<ParsedRow<T>> batch = new ArrayList<>(BATCH_SIZE);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                report.rowRead();
+                try {
+                    batch.add(new ParsedRow<>(reader.getLineNumber(), mapper.map(header, record)));
+                } catch (RuntimeException e) {
+                    report.rejected(reader.getLineNumber(), e.getMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    enqueue(queue, batch, writerThread);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(queue, batch, writerThread);
+            }
+        } finally {
+            try {
+                enqueue(queue, endOfInput, writerThread);
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writerThread.interrupt();
+            }
+        }
+
+        logger.info("CSV import of {} finished: {}", file, report);
+        return report;
+    }
+
+    /**
+     * Blocks while the queue is full - this is the backpressure point
+     */
+    private <T> void enqueue(BlockingQueue<List<ParsedRow<T>>> queue, List<ParsedRow<T>> batch,
+                             Thread writerThread) throws InterruptedIOException {
+        try {
+            while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+                if (!writerThread.isAlive()) {
+                    throw new IllegalStateException("CSV import writer thread terminated unexpectedly");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("CSV import interrupted");
+        }
+    }
+
+    private <T> void drain(BlockingQueue<List<ParsedRow<T>>> queue, List<ParsedRow<T>> endOfInput,
+                           BatchWriter<T> batchWriter, CsvImportReport report) {
+        try {
+            while (true) {
+                List<ParsedRow<T>> batch = queue.take();
+                if (batch == endOfInput) {
+                    return;
+                }
+                writeBatch(batch, batchWriter, report);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction; if that fails (e.g. a duplicate email),
+     * retries row by row so only the offending rows are rejected
+     */
+    private <T> void writeBatch(List<ParsedRow<T>> batch, BatchWriter<T> batchWriter, CsvImportReport report) {
+        List<T> values = new ArrayList<>(batch.size());
+        for (ParsedRow<T> row : batch) {
+            values.add(row.value);
+        }
+
+        try {
+            report.imported(batchWriter.write(values));
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Batch of {} rows failed, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+
+        for (ParsedRow<T> row : batch) {
+            try {
+                report.imported(batchWriter.write(Collections.singletonList(row.value)));
+            } catch (RuntimeException e) {
+                report.rejected(row.lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private interface RowMapper<T> {
+        T map(Header header, List<String> record);
+    }
+
+    private interface BatchWriter<T> {
+        int write(List<T> values);
+    }
+
+    private static class ParsedRow<T> {
+        final long lineNumber;
+        final T value;
+
+        ParsedRow(long lineNumber, T value) {
+            this.lineNumber = lineNumber;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Column lookup by (case-insensitive) header name
+     */
+    private static class Header {
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        Header(List<String> names) {
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        String optional(List<String> record, String column, int maxLength) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            if (value.isEmpty()) {
+                return null;
+            }
+            if (value.length() > maxLength) {
+                throw new IllegalArgumentException(column + " exceeds " + maxLength + " characters");
+            }
+            return value;
+        }
+
+        String required(List<String> record, String column, int maxLength) {
+            String value = optional(record, column, maxLength);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing " + column);
+            }
+            return value;
+        }
+
+        Long optionalLong(List<String> record, String column) {
+            String value = optional(record, column, 20);
+            return value == null ? null : Long.valueOf(value);
+        }
+
+        BigDecimal optionalAmount(List<String> record, String column) {
+            String value = optional(record, column, 20);
+            if (value == null) {
+                return null;
+            }
+            BigDecimal amount = new BigDecimal(value);
+            if (amount.signum() < 0) {
+                throw new IllegalArgumentException(column + " must not be negative");
+            }
+            return amount;
+        }
+    }
+}
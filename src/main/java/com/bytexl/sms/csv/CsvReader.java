@@ -0,0 +1,98 @@
+package com.bytexl.sms.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvReader - Streaming RFC 4180 record reader
+ * Reads one record at a time, so memory use is bounded by the longest row.
+ * Supports quoted fields with embedded commas, quotes and line breaks.
+ * The underlying reader must support mark/reset (e.g. BufferedReader).
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long lineNumber = 0;
+    private boolean eof = false;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record, or null at end of input
+     */
+    public List<String> readRecord() throws IOException {
+        if (eof) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        lineNumber++;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                eof = true;
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field at line " + lineNumber);
+                }
+                if (record.isEmpty() && !fieldStarted) {
+                    return null;
+                }
+                record.add(field.toString());
+                return record;
+            }
+
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (ch == '\n') {
+                record.add(field.toString());
+                return record;
+            } else if (ch != '\r') {
+                field.append(ch);
+                fieldStarted = true;
+            }
+        }
+    }
+
+    /**
+     * Line number where the last record ended (1-based)
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,118 @@
+package com.bytexl.sms.dao;
+
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.model.StudentStatus;
+import com.bytexl.sms.util.SqlLists;
+import com.bytexl.sms.util.TransactionCallbacks;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ArchiveDAO - Moves inactive students and their payments to the archive tables
+ * All set-based JDBC: one INSERT ... SELECT and one DELETE per table for a
+ * whole batch of students, with no entities loaded.
+ */
+@Repository
+public class ArchiveDAO {
+
+    private static final String[] QUERY_REGIONS = {"students-by-course-query", "student-by-email-query"};
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    /**
+     * Locks up to limit GRADUATED or DELETED students whose status changed
+     * before cutoff and returns their IDs. The locks keep payments and
+     * balance updates for them out until the transaction ends.
+     */
+    public List<Long> lockArchivable(LocalDateTime cutoff, int limit) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT student_id FROM students WHERE status IN (?, ?) AND status_changed_at < ? " +
+                    "LIMIT ? FOR UPDATE")) {
+                statement.setString(1, StudentStatus.GRADUATED);
+                statement.setString(2, StudentStatus.DELETED);
+                statement.setTimestamp(3, Timestamp.valueOf(cutoff));
+                statement.setInt(4, limit);
+                List<Long> ids = new ArrayList<>(limit);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    /**
+     * Copies the students and all their payments to the archive tables, then
+     * deletes them from the hot tables. Call with IDs locked by lockArchivable
+     * in the same transaction (at most SqlLists.MAX_IN_LIST). Returns the
+     * number of students moved.
+     */
+    public int moveToArchive(List<Long> studentIds) {
+        Session session = sessionFactory.getCurrentSession();
+        String in = "(" + SqlLists.placeholders(studentIds.size()) + ")";
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+
+        int moved = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO students_archive (student_id, name, email, phone, balance, course_id, " +
+                    "enrollment_date, status, status_changed_at, archived_at) " +
+                    "SELECT student_id, name, email, phone, balance, course_id, " +
+                    "enrollment_date, status, status_changed_at, ? FROM students WHERE student_id IN " + in)) {
+                statement.setTimestamp(1, archivedAt);
+                SqlLists.bindIds(statement, 2, studentIds);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO payments_archive (payment_id, student_id, amount, payment_type, " +
+                    "payment_date, archived_at) " +
+                    "SELECT payment_id, student_id, amount, payment_type, payment_date, ? " +
+                    "FROM payments WHERE student_id IN " + in)) {
+                statement.setTimestamp(1, archivedAt);
+                SqlLists.bindIds(statement, 2, studentIds);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM payments WHERE student_id IN " + in)) {
+                SqlLists.bindIds(statement, 1, studentIds);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM students WHERE student_id IN " + in)) {
+                SqlLists.bindIds(statement, 1, studentIds);
+                return statement.executeUpdate();
+            }
+        });
+
+        Cache cache = sessionFactory.getCache();
+        for (Long studentId : studentIds) {
+            cache.evictEntityData(Student.class, studentId);
+        }
+        for (String region : QUERY_REGIONS) {
+            cache.evictQueryRegion(region);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            for (Long studentId : studentIds) {
+                cache.evictEntityData(Student.class, studentId);
+            }
+            for (String region : QUERY_REGIONS) {
+                cache.evictQueryRegion(region);
+            }
+        });
+        return moved;
+    }
+}
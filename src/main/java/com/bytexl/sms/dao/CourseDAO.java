@@ -1,6 +1,9 @@
 package com.bytexl.sms.dao;
 
 import com.bytexl.sms.model.Course;
+import com.bytexl.sms.util.StatelessSessions;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
@@ -8,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 public class CourseDAO {
@@ -20,6 +24,22 @@ public class CourseDAO {
         session.save(course);
     }
 
+    /**
+     * Bulk insert through a StatelessSession - no persistence context and no
+     * dirty checking. Course IDs are IDENTITY, so each insert is its own
+     * statement. Returns the number of courses inserted.
+     */
+    public int insertAll(Iterable<Course> courses) {
+        return StatelessSessions.inCurrentTransaction(sessionFactory, 1, session -> {
+            int inserted = 0;
+            for (Course course : courses) {
+                session.insert(course);
+                inserted++;
+            }
+            return inserted;
+        });
+    }
+
     public void update(Course course) {
         Session session = sessionFactory.getCurrentSession();
         session.update(course);
@@ -41,6 +61,27 @@ public class CourseDAO {
     public List<Course> findAll() {
         Session session = sessionFactory.getCurrentSession();
         Query<Course> query = session.createQuery("FROM Course", Course.class);
+        query.setReadOnly(true);
         return query.getResultList();
     }
+
+    /**
+     * Streams every course through a forward-only cursor in a StatelessSession,
+     * so nothing is tracked or cached. Returns the number of courses visited.
+     */
+    public long forEach(int fetchSize, Consumer<Course> action) {
+        return StatelessSessions.inCurrentTransaction(sessionFactory, 1, session -> {
+            Query<Course> query = session.createQuery("FROM Course c ORDER BY c.courseId", Course.class);
+            query.setFetchSize(fetchSize);
+
+            long count = 0;
+            try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    action.accept((Course) results.get(0));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
 }
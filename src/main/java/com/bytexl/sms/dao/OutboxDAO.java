@@ -0,0 +1,108 @@
+package com.bytexl.sms.dao;
+
+import com.bytexl.sms.outbox.OutboxEvent;
+import com.bytexl.sms.util.SqlLists;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * OutboxDAO - Reads and writes outbox_events over plain JDBC
+ * Inserts run on the caller's connection, so an event commits or rolls back
+ * together with the change it describes.
+ */
+@Repository
+public class OutboxDAO {
+
+    private static final String INSERT =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    public void insert(OutboxEvent event) {
+        insertAll(Collections.singletonList(event));
+    }
+
+    /**
+     * Inserts the events as one JDBC batch
+     */
+    public void insertAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Session session = sessionFactory.getCurrentSession();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (OutboxEvent event : events) {
+                    statement.setString(1, event.getAggregateType());
+                    statement.setLong(2, event.getAggregateId());
+                    statement.setString(3, event.getEventType());
+                    statement.setString(4, event.getPayload());
+                    statement.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * The oldest committed events, in event ID order
+     */
+    public List<OutboxEvent> findOldest(int limit) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT event_id, aggregate_type, aggregate_id, event_type, payload, created_at " +
+                    "FROM outbox_events ORDER BY event_id LIMIT ?")) {
+                statement.setInt(1, limit);
+                List<OutboxEvent> events = new ArrayList<>(limit);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        Timestamp createdAt = rs.getTimestamp(6);
+                        events.add(new OutboxEvent(rs.getLong(1), rs.getString(2), rs.getLong(3),
+                                rs.getString(4), rs.getString(5),
+                                createdAt == null ? null : createdAt.toLocalDateTime()));
+                    }
+                }
+                return events;
+            }
+        });
+    }
+
+    /**
+     * Removes published events (at most SqlLists.MAX_IN_LIST IDs)
+     */
+    public int delete(List<Long> eventIds) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM outbox_events WHERE event_id IN ("
+                            + SqlLists.placeholders(eventIds.size()) + ")")) {
+                SqlLists.bindIds(statement, 1, eventIds);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    public long count() {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM outbox_events");
+                 ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.bytexl.sms.dao;
+
+import com.bytexl.sms.dto.BalanceDiscrepancy;
+import com.bytexl.sms.model.Payment;
+import com.bytexl.sms.util.SqlLists;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PaymentDAO - Data Access Layer for the payment ledger
+ * Ledger rows are append-only; inserts go through a single JDBC batch
+ * so a whole group of entries costs one round trip.
+ */
+@Repository
+public class PaymentDAO {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO payments (student_id, amount, payment_type, payment_date) VALUES (?, ?, ?, ?)";
+
+    /**
+     * Signed sum of ledger entries per student, see PaymentType.balanceDelta
+     */
+    private static final String LEDGER_BALANCE_SQL =
+            "SUM(CASE WHEN payment_type = 'PAYMENT' THEN -amount ELSE amount END)";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    public void insertBatch(List<Payment> payments) {
+        Session session = sessionFactory.getCurrentSession();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (Payment payment : payments) {
+                    statement.setLong(1, payment.getStudentId());
+                    statement.setBigDecimal(2, payment.getAmount());
+                    statement.setString(3, payment.getPaymentType().name());
+                    statement.setTimestamp(4, Timestamp.valueOf(payment.getPaymentDate()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Writes one ADJUSTMENT per student moving their balance to newBalance
+     * (newBalance minus the current balance), computed by the database.
+     * Must run before the balances change. Returns the number of entries written.
+     */
+    public int insertAdjustmentsTo(List<Long> studentIds, BigDecimal newBalance) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO payments (student_id, amount, payment_type, payment_date) " +
+                    "SELECT student_id, ? - balance, 'ADJUSTMENT', ? FROM students " +
+                    "WHERE balance <> ? AND student_id IN (" + SqlLists.placeholders(studentIds.size()) + ")")) {
+                statement.setBigDecimal(1, newBalance);
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setBigDecimal(3, newBalance);
+                SqlLists.bindIds(statement, 4, studentIds);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    public List<Payment> findByStudent(Long studentId) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<Payment> query = session.createQuery(
+                "FROM Payment p WHERE p.studentId = :studentId ORDER BY p.paymentId", Payment.class);
+        query.setParameter("studentId", studentId);
+        query.setReadOnly(true);
+        return query.getResultList();
+    }
+
+    public BigDecimal ledgerBalance(Long studentId) {
+        Session session = sessionFactory.getCurrentSession();
+        NativeQuery<?> query = session.createNativeQuery(
+                "SELECT COALESCE(" + LEDGER_BALANCE_SQL + ", 0) FROM payments WHERE student_id = :studentId");
+        query.setParameter("studentId", studentId);
+        return (BigDecimal) query.uniqueResult();
+    }
+
+    /**
+     * Students whose stored balance differs from the sum of their ledger entries,
+     * computed entirely in the database
+     */
+    public List<BalanceDiscrepancy> findDiscrepancies(int limit) {
+        Session session = sessionFactory.getCurrentSession();
+        NativeQuery<?> query = session.createNativeQuery(
+                "SELECT s.student_id, s.balance, COALESCE(l.ledger_balance, 0) " +
+                "FROM students s LEFT JOIN (" +
+                "  SELECT student_id, " + LEDGER_BALANCE_SQL + " AS ledger_balance " +
+                "  FROM payments GROUP BY student_id) l ON l.student_id = s.student_id " +
+                "WHERE s.balance <> COALESCE(l.ledger_balance, 0) " +
+                "ORDER BY s.student_id");
+        query.setMaxResults(limit);
+
+        List<BalanceDiscrepancy> discrepancies = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            discrepancies.add(new BalanceDiscrepancy(
+                    ((Number) columns[0]).longValue(),
+                    (BigDecimal) columns[1],
+                    (BigDecimal) columns[2]));
+        }
+        return discrepancies;
+    }
+
+    /**
+     * Opens the ledger for students that predate it: writes one ADJUSTMENT
+     * equal to the current balance for every student with no ledger entries.
+     * Returns the number of entries written.
+     */
+    public int insertOpeningBalances() {
+        Session session = sessionFactory.getCurrentSession();
+        return session.createNativeQuery(
+                "INSERT INTO payments (student_id, amount, payment_type, payment_date) " +
+                "SELECT s.student_id, s.balance, 'ADJUSTMENT', CURRENT_TIMESTAMP FROM students s " +
+                "WHERE s.balance <> 0 " +
+                "AND NOT EXISTS (SELECT 1 FROM payments p WHERE p.student_id = s.student_id)")
+                .addSynchronizedEntityClass(Payment.class)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,97 @@
+package com.bytexl.sms.dao;
+
+import com.bytexl.sms.dto.PaymentReceipt;
+import com.bytexl.sms.model.PaymentType;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * PaymentRequestDAO - Request IDs of applied payments, for idempotency
+ * Plain JDBC on the caller's connection, so a request row commits or rolls
+ * back together with its payment.
+ */
+@Repository
+public class PaymentRequestDAO {
+
+    /**
+     * SQLState class for integrity constraint violations (duplicate key)
+     */
+    private static final String INTEGRITY_VIOLATION = "23";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    /**
+     * Claims the request ID. Returns false, without failing the transaction,
+     * if the ID already exists. If another transaction holds the ID
+     * uncommitted, this waits for it to finish.
+     */
+    public boolean insert(String requestId, Long studentId, PaymentType type, BigDecimal amount,
+                          LocalDateTime createdAt) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO payment_requests (request_id, student_id, payment_type, amount, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?)")) {
+                statement.setString(1, requestId);
+                statement.setLong(2, studentId);
+                statement.setString(3, type.name());
+                statement.setBigDecimal(4, amount);
+                statement.setTimestamp(5, Timestamp.valueOf(createdAt));
+                statement.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                if (e.getSQLState() != null && e.getSQLState().startsWith(INTEGRITY_VIOLATION)) {
+                    return false;
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * The payment recorded under the request ID, without a balance, or null.
+     * A locking read, so it sees the latest committed row even inside an
+     * older snapshot.
+     */
+    public PaymentReceipt find(String requestId) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT student_id, payment_type, amount, created_at FROM payment_requests " +
+                    "WHERE request_id = ? FOR UPDATE")) {
+                statement.setString(1, requestId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    return new PaymentReceipt(rs.getLong(1), PaymentType.valueOf(rs.getString(2)),
+                            rs.getBigDecimal(3), null, rs.getTimestamp(4).toLocalDateTime());
+                }
+            }
+        });
+    }
+
+    /**
+     * Forgets request IDs older than cutoff. Returns the number removed.
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM payment_requests WHERE created_at < ?")) {
+                statement.setTimestamp(1, Timestamp.valueOf(cutoff));
+                return statement.executeUpdate();
+            }
+        });
+    }
+}
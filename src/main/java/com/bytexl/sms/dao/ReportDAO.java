@@ -0,0 +1,169 @@
+package com.bytexl.sms.dao;
+
+import com.bytexl.sms.dto.CollectionSummary;
+import com.bytexl.sms.dto.CourseOutstanding;
+import com.bytexl.sms.dto.StudentSummary;
+import com.bytexl.sms.model.StudentStatus;
+import com.bytexl.sms.report.BalanceColumns;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReportDAO - Aggregate queries over students, courses and payments
+ * Every report is a single GROUP BY or aggregate query, so only the
+ * result rows leave the database. Balances are those of ACTIVE students;
+ * deleted and graduated students no longer count as owing.
+ */
+@Repository
+public class ReportDAO {
+
+    private static final int COLUMN_FETCH_SIZE = 5000;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    /**
+     * Students, students owing and sum of positive balances per course.
+     * Students without a course are reported under a null course.
+     */
+    public List<CourseOutstanding> outstandingByCourse() {
+        Session session = sessionFactory.getCurrentSession();
+        NativeQuery<?> query = session.createNativeQuery(
+                "SELECT c.course_id, c.course_name, COUNT(*), " +
+                "SUM(CASE WHEN s.balance > 0 THEN 1 ELSE 0 END), " +
+                "COALESCE(SUM(CASE WHEN s.balance > 0 THEN s.balance ELSE 0 END), 0) " +
+                "FROM students s LEFT JOIN courses c ON c.course_id = s.course_id " +
+                "WHERE s.status = :status " +
+                "GROUP BY c.course_id, c.course_name " +
+                "ORDER BY 5 DESC");
+        query.setParameter("status", StudentStatus.ACTIVE);
+
+        List<CourseOutstanding> rows = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            rows.add(new CourseOutstanding(
+                    columns[0] == null ? null : ((Number) columns[0]).longValue(),
+                    (String) columns[1],
+                    ((Number) columns[2]).longValue(),
+                    ((Number) columns[3]).longValue(),
+                    (BigDecimal) columns[4]));
+        }
+        return rows;
+    }
+
+    /**
+     * Payments and refunds booked in [from, to) plus the current outstanding total
+     */
+    public CollectionSummary collectionSummary(LocalDate from, LocalDate to) {
+        Session session = sessionFactory.getCurrentSession();
+        NativeQuery<?> ledger = session.createNativeQuery(
+                "SELECT SUM(CASE WHEN payment_type = 'PAYMENT' THEN 1 ELSE 0 END), " +
+                "COALESCE(SUM(CASE WHEN payment_type = 'PAYMENT' THEN amount ELSE 0 END), 0), " +
+                "COALESCE(SUM(CASE WHEN payment_type = 'REFUND' THEN amount ELSE 0 END), 0) " +
+                "FROM payments WHERE payment_date >= :fromDate AND payment_date < :toDate");
+        ledger.setParameter("fromDate", Timestamp.valueOf(from.atStartOfDay()));
+        ledger.setParameter("toDate", Timestamp.valueOf(to.atStartOfDay()));
+        Object[] totals = (Object[]) ledger.uniqueResult();
+
+        BigDecimal outstanding = (BigDecimal) session.createNativeQuery(
+                "SELECT COALESCE(SUM(balance), 0) FROM students WHERE status = :status AND balance > 0")
+                .setParameter("status", StudentStatus.ACTIVE)
+                .uniqueResult();
+
+        return new CollectionSummary(from, to,
+                totals[0] == null ? 0 : ((Number) totals[0]).longValue(),
+                (BigDecimal) totals[1],
+                (BigDecimal) totals[2],
+                outstanding);
+    }
+
+    /**
+     * Students owing more than threshold, largest balance first
+     */
+    public List<StudentSummary> findBalanceAbove(BigDecimal threshold, int limit) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<StudentSummary> query = session.createQuery(
+                "SELECT new com.bytexl.sms.dto.StudentSummary(" +
+                "s.studentId, s.name, s.email, s.phone, s.balance, c.courseName) " +
+                "FROM Student s LEFT JOIN s.course c WHERE s.status = :status AND s.balance > :threshold " +
+                "ORDER BY s.balance DESC, s.studentId", StudentSummary.class);
+        query.setParameter("status", StudentStatus.ACTIVE);
+        query.setParameter("threshold", threshold);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    /**
+     * Reads student ID, balance in cents and course of every active student
+     * straight from JDBC into primitive columns, without creating entities
+     */
+    public BalanceColumns loadBalanceColumns() {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            List<Long> courseIdList = new ArrayList<>();
+            List<String> courseNameList = new ArrayList<>();
+            Map<Long, Integer> courseSlots = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT course_id, course_name FROM courses ORDER BY course_id");
+                 ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    courseSlots.put(rs.getLong(1), courseIdList.size());
+                    courseIdList.add(rs.getLong(1));
+                    courseNameList.add(rs.getString(2));
+                }
+            }
+
+            long[] studentIds = new long[1024];
+            long[] balanceCents = new long[1024];
+            int[] slots = new int[1024];
+            int count = 0;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT student_id, ROUND(balance * 100), course_id FROM students WHERE status = ?")) {
+                statement.setString(1, StudentStatus.ACTIVE);
+                statement.setFetchSize(COLUMN_FETCH_SIZE);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        if (count == studentIds.length) {
+                            studentIds = Arrays.copyOf(studentIds, count * 2);
+                            balanceCents = Arrays.copyOf(balanceCents, count * 2);
+                            slots = Arrays.copyOf(slots, count * 2);
+                        }
+                        studentIds[count] = rs.getLong(1);
+                        balanceCents[count] = rs.getLong(2);
+                        long courseId = rs.getLong(3);
+                        slots[count] = rs.wasNull()
+                                ? BalanceColumns.NO_COURSE
+                                : courseSlots.getOrDefault(courseId, BalanceColumns.NO_COURSE);
+                        count++;
+                    }
+                }
+            }
+
+            long[] courseIds = new long[courseIdList.size()];
+            for (int i = 0; i < courseIds.length; i++) {
+                courseIds[i] = courseIdList.get(i);
+            }
+            return new BalanceColumns(
+                    Arrays.copyOf(studentIds, count),
+                    Arrays.copyOf(balanceCents, count),
+                    Arrays.copyOf(slots, count),
+                    courseIds,
+                    courseNameList.toArray(new String[0]));
+        });
+    }
+}
@@ -1,17 +1,40 @@
 package com.bytexl.sms.dao;
 
+import com.bytexl.sms.dto.StudentMatch;
+import com.bytexl.sms.dto.StudentSummary;
 import com.bytexl.sms.model.Student;
+import com.bytexl.sms.model.StudentStatus;
+import com.bytexl.sms.util.SqlLists;
+import com.bytexl.sms.util.StatelessSessions;
+import com.bytexl.sms.util.TransactionCallbacks;
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * StudentDAO - Data Access Layer for Student entity
  * Demonstrates Hibernate CRUD operations
+ *
+ * Listings, rosters and search only return ACTIVE students (the
+ * activeStudents filter). Lookups by ID or email see every status.
  */
 @Repository
 public class StudentDAO {
@@ -24,17 +47,217 @@ public class StudentDAO {
         session.save(student);
     }
 
-    public void update(Student student) {
+    /**
+     * Bulk insert through a StatelessSession - JDBC batches of batchSize, no
+     * persistence context and no dirty checking. Students are not put in the
+     * second-level cache; the email and course query results are evicted now
+     * and after commit. Returns the number of students inserted.
+     */
+    public int insertAll(Iterable<Student> students, int batchSize) {
+        int count = StatelessSessions.inCurrentTransaction(sessionFactory, batchSize, session -> {
+            int inserted = 0;
+            for (Student student : students) {
+                session.insert(student);
+                inserted++;
+            }
+            return inserted;
+        });
+        Cache cache = sessionFactory.getCache();
+        cache.evictQueryRegion("student-by-email-query");
+        cache.evictQueryRegion("students-by-course-query");
+        TransactionCallbacks.afterCommit(() -> {
+            cache.evictQueryRegion("student-by-email-query");
+            cache.evictQueryRegion("students-by-course-query");
+        });
+        return count;
+    }
+
+    /**
+     * Changes only name, email and phone; a null argument leaves that column
+     * as it is. Balance, course and status are never written here, so an
+     * entity read earlier (possibly from the replica) cannot overwrite them.
+     * Evicts the student and the email query results. Returns the number of
+     * rows updated (0 if not found).
+     */
+    public int updateContact(Long studentId, String name, String email, String phone) {
+        Session session = sessionFactory.getCurrentSession();
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE students SET name = COALESCE(?, name), email = COALESCE(?, email), " +
+                    "phone = COALESCE(?, phone) WHERE student_id = ?")) {
+                statement.setString(1, name);
+                statement.setString(2, email);
+                statement.setString(3, phone);
+                statement.setLong(4, studentId);
+                return statement.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            evictFromCache(studentId);
+            Cache cache = sessionFactory.getCache();
+            cache.evictQueryRegion("student-by-email-query");
+            TransactionCallbacks.afterCommit(() -> cache.evictQueryRegion("student-by-email-query"));
+        }
+        return updated;
+    }
+
+    /**
+     * Atomically subtracts amount from the balance, but only if the balance covers it.
+     * The check and the write happen in one statement under the row lock, so
+     * concurrent payments can neither overdraw nor overwrite each other.
+     * Returns the number of rows updated (0 if not found or insufficient balance).
+     */
+    public int debitBalance(Long studentId, BigDecimal amount) {
+        return updateBalance(
+                "UPDATE students SET balance = balance - ? WHERE student_id = ? AND balance >= ?",
+                studentId, amount, true);
+    }
+
+    /**
+     * Atomically adds amount to the balance. Returns the number of rows updated.
+     */
+    public int creditBalance(Long studentId, BigDecimal amount) {
+        return updateBalance(
+                "UPDATE students SET balance = balance + ? WHERE student_id = ?",
+                studentId, amount, false);
+    }
+
+    /**
+     * Runs the balance update over plain JDBC and evicts only this student from
+     * the second-level cache. An HQL or native bulk update would invalidate the
+     * whole student region (and every cached student query) on each payment.
+     */
+    private int updateBalance(String sql, Long studentId, BigDecimal amount, boolean requireFunds) {
+        Session session = sessionFactory.getCurrentSession();
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setBigDecimal(1, amount);
+                statement.setLong(2, studentId);
+                if (requireFunds) {
+                    statement.setBigDecimal(3, amount);
+                }
+                return statement.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            evictFromCache(studentId);
+        }
+        return updated;
+    }
+
+    /**
+     * Evicts the cached student now and again after commit, so a concurrent
+     * reader cannot re-cache the pre-commit balance for longer than the region TTL
+     */
+    private void evictFromCache(Long studentId) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Student.class, studentId);
+        TransactionCallbacks.afterCommit(() -> cache.evictEntityData(Student.class, studentId));
+    }
+
+    /**
+     * Locks the given students' rows until the transaction ends.
+     * Returns the IDs of the rows found.
+     */
+    public List<Long> lockAll(List<Long> studentIds) {
         Session session = sessionFactory.getCurrentSession();
-        session.update(student);
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT student_id FROM students WHERE student_id IN ("
+                            + SqlLists.placeholders(studentIds.size()) + ") FOR UPDATE")) {
+                SqlLists.bindIds(statement, 1, studentIds);
+                List<Long> found = new ArrayList<>(studentIds.size());
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(rs.getLong(1));
+                    }
+                }
+                return found;
+            }
+        });
     }
 
-    public void delete(Long studentId) {
+    /**
+     * Set-based enrollment - moves the students to the course and sets their
+     * balance to its fee in one statement. Evicts the students and the
+     * students-by-course query results from the second-level cache.
+     * Returns the number of students updated.
+     */
+    public int assignCourse(List<Long> studentIds, Long courseId, BigDecimal fee) {
         Session session = sessionFactory.getCurrentSession();
-        Student student = session.get(Student.class, studentId);
-        if (student != null) {
-            session.delete(student);
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE students SET course_id = ?, balance = ? WHERE student_id IN ("
+                            + SqlLists.placeholders(studentIds.size()) + ")")) {
+                statement.setLong(1, courseId);
+                statement.setBigDecimal(2, fee);
+                SqlLists.bindIds(statement, 3, studentIds);
+                return statement.executeUpdate();
+            }
+        });
+        Cache cache = sessionFactory.getCache();
+        for (Long studentId : studentIds) {
+            evictFromCache(studentId);
         }
+        cache.evictQueryRegion("students-by-course-query");
+        TransactionCallbacks.afterCommit(() -> cache.evictQueryRegion("students-by-course-query"));
+        return updated;
+    }
+
+    /**
+     * Reads just the balance column, or null if the student does not exist
+     */
+    public BigDecimal findBalance(Long studentId) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<BigDecimal> query = session.createQuery(
+                "SELECT s.balance FROM Student s WHERE s.studentId = :studentId", BigDecimal.class);
+        query.setParameter("studentId", studentId);
+        return query.uniqueResult();
+    }
+
+    /**
+     * Reads the balance and locks the row until the transaction ends, or
+     * returns null if the student does not exist. Plain JDBC, so the Session
+     * is not flushed and the second-level cache is not touched.
+     */
+    public BigDecimal findBalanceForUpdate(Long studentId) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT balance FROM students WHERE student_id = ? FOR UPDATE")) {
+                statement.setLong(1, studentId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() ? rs.getBigDecimal(1) : null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Moves an ACTIVE student to the given status and stamps the change.
+     * Plain JDBC, evicting only this student and the roster queries it may
+     * appear in. Returns 0 if there is no active student with that ID.
+     */
+    public int changeStatus(Long studentId, String status) {
+        Session session = sessionFactory.getCurrentSession();
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE students SET status = ?, status_changed_at = ? " +
+                    "WHERE student_id = ? AND status = ?")) {
+                statement.setString(1, status);
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setLong(3, studentId);
+                statement.setString(4, StudentStatus.ACTIVE);
+                return statement.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            evictFromCache(studentId);
+            Cache cache = sessionFactory.getCache();
+            cache.evictQueryRegion("students-by-course-query");
+            TransactionCallbacks.afterCommit(() -> cache.evictQueryRegion("students-by-course-query"));
+        }
+        return updated;
     }
 
     public Student findById(Long studentId) {
@@ -42,17 +265,113 @@ public class StudentDAO {
         return session.get(Student.class, studentId);
     }
 
+    /**
+     * Loads the student from the database, refreshing an instance this
+     * Session already holds, so changes made over JDBC earlier in the
+     * transaction are seen. The student must exist.
+     */
+    public Student findCurrent(Long studentId) {
+        Session session = sessionFactory.getCurrentSession();
+        Student student = session.load(Student.class, studentId);
+        if (Hibernate.isInitialized(student)) {
+            session.refresh(student);
+        } else {
+            Hibernate.initialize(student);
+        }
+        return student;
+    }
+
+    /**
+     * Loaded read-only, like the other listings: callers change students
+     * through the targeted updates here, never by modifying a listed entity
+     */
     public List<Student> findAll() {
         Session session = sessionFactory.getCurrentSession();
         Query<Student> query = session.createQuery("FROM Student", Student.class);
-        return query.getResultList();
+        query.setReadOnly(true);
+        return activeOnly(session, query::getResultList);
+    }
+
+    /**
+     * Keyset pagination - returns up to {@code limit} students whose ID is
+     * greater than {@code afterId}, ordered by ID. Pass {@code null} for the
+     * first page and the last ID of the previous page afterwards.
+     * Seeks on the primary key, so every page costs the same regardless of depth.
+     */
+    public List<Student> findPage(Long afterId, int limit) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<Student> query = session.createQuery(
+                "FROM Student s WHERE s.studentId > :afterId ORDER BY s.studentId", Student.class);
+        query.setParameter("afterId", afterId == null ? 0L : afterId);
+        query.setMaxResults(limit);
+        query.setReadOnly(true);
+        return activeOnly(session, query::getResultList);
+    }
+
+    /**
+     * Streams every student (only ACTIVE ones if activeOnly) through a
+     * forward-only cursor in a StatelessSession, so no entity is tracked or
+     * cached however many rows are read. The students are detached: their
+     * course is an uninitialized proxy that only knows its ID.
+     */
+    public long forEach(int fetchSize, boolean activeOnly, Consumer<Student> action) {
+        return StatelessSessions.inCurrentTransaction(sessionFactory, 1, session -> {
+            Query<Student> query = session.createQuery(activeOnly
+                    ? "FROM Student s WHERE s.status = :status ORDER BY s.studentId"
+                    : "FROM Student s ORDER BY s.studentId", Student.class);
+            if (activeOnly) {
+                query.setParameter("status", StudentStatus.ACTIVE);
+            }
+            query.setFetchSize(fetchSize);
+
+            long count = 0;
+            try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    action.accept((Student) results.get(0));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Streams (studentId, balance) for every student, whatever their status,
+     * without loading entities. Returns the number of rows visited.
+     */
+    public long forEachBalance(int fetchSize, BiConsumer<Long, BigDecimal> action) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<Object[]> query = session.createQuery(
+                "SELECT s.studentId, s.balance FROM Student s", Object[].class);
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+
+        long count = 0;
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                action.accept((Long) results.get(0), (BigDecimal) results.get(1));
+                count++;
+            }
+        }
+        return count;
     }
 
+    /**
+     * The student with this email. Email is unique among ACTIVE students only,
+     * so an address re-registered after a delete or graduation matches the
+     * ACTIVE student first, then the most recent inactive one.
+     */
     public Student findByEmail(String email) {
         Session session = sessionFactory.getCurrentSession();
         Query<Student> query = session.createQuery(
-                "FROM Student s WHERE s.email = :email", Student.class);
+                "FROM Student s WHERE s.email = :email"
+                        + " ORDER BY CASE WHEN s.status = :active THEN 0 ELSE 1 END, s.studentId DESC",
+                Student.class);
         query.setParameter("email", email);
+        query.setParameter("active", StudentStatus.ACTIVE);
+        query.setMaxResults(1);
+        query.setCacheable(true);
+        query.setCacheRegion("student-by-email-query");
         return query.uniqueResult();
     }
 
@@ -61,6 +380,87 @@ public class StudentDAO {
         Query<Student> query = session.createQuery(
                 "FROM Student s WHERE s.course.courseId = :courseId", Student.class);
         query.setParameter("courseId", courseId);
-        return query.getResultList();
+        query.setCacheable(true);
+        query.setCacheRegion("students-by-course-query");
+        query.setReadOnly(true);
+        return activeOnly(session, query::getResultList);
+    }
+
+    /**
+     * Course roster as DTOs - one query, only the listed columns, no managed entities
+     */
+    public List<StudentSummary> findRosterByCourse(Long courseId) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<StudentSummary> query = session.createQuery(
+                "SELECT new com.bytexl.sms.dto.StudentSummary(" +
+                "s.studentId, s.name, s.email, s.phone, s.balance, c.courseName) " +
+                "FROM Student s JOIN s.course c WHERE c.courseId = :courseId " +
+                "ORDER BY s.studentId", StudentSummary.class);
+        query.setParameter("courseId", courseId);
+        return activeOnly(session, query::getResultList);
+    }
+
+    /**
+     * Students of a course with the course fetched in the same select (no N+1).
+     * Loaded read-only, so Hibernate keeps no snapshots and skips dirty checking.
+     */
+    public List<Student> findByCourseWithCourse(Long courseId) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<Student> query = session.createQuery(
+                "SELECT s FROM Student s JOIN FETCH s.course c WHERE c.courseId = :courseId " +
+                "ORDER BY s.studentId", Student.class);
+        query.setParameter("courseId", courseId);
+        query.setReadOnly(true);
+        return activeOnly(session, query::getResultList);
+    }
+
+    /**
+     * Keyset page of student summaries (active students, enrolled or not)
+     */
+    public List<StudentSummary> findSummaryPage(Long afterId, int limit) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<StudentSummary> query = session.createQuery(
+                "SELECT new com.bytexl.sms.dto.StudentSummary(" +
+                "s.studentId, s.name, s.email, s.phone, s.balance, c.courseName) " +
+                "FROM Student s LEFT JOIN s.course c WHERE s.studentId > :afterId " +
+                "ORDER BY s.studentId", StudentSummary.class);
+        query.setParameter("afterId", afterId == null ? 0L : afterId);
+        query.setMaxResults(limit);
+        return activeOnly(session, query::getResultList);
+    }
+
+    /**
+     * Substring search on name, email and phone - a full scan, used only
+     * while the in-memory search index is loading
+     */
+    public List<StudentMatch> search(String text, int limit) {
+        Session session = sessionFactory.getCurrentSession();
+        Query<StudentMatch> query = session.createQuery(
+                "SELECT new com.bytexl.sms.dto.StudentMatch(s.studentId, s.name, s.email, s.phone) " +
+                "FROM Student s WHERE lower(s.name) LIKE :pattern OR lower(s.email) LIKE :pattern " +
+                "OR s.phone LIKE :pattern ORDER BY s.studentId", StudentMatch.class);
+        query.setParameter("pattern", "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%");
+        query.setMaxResults(limit);
+        return activeOnly(session, query::getResultList);
+    }
+
+    /**
+     * Runs the query with the activeStudents filter enabled, leaving the
+     * Session's filters as they were afterwards
+     */
+    private static <T> T activeOnly(Session session, Supplier<T> query) {
+        if (session.getEnabledFilter(Student.ACTIVE_FILTER) != null) {
+            return query.get();
+        }
+        session.enableFilter(Student.ACTIVE_FILTER);
+        try {
+            return query.get();
+        } finally {
+            session.disableFilter(Student.ACTIVE_FILTER);
+        }
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
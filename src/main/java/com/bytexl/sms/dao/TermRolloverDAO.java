@@ -0,0 +1,201 @@
+package com.bytexl.sms.dao;
+
+import com.bytexl.sms.dto.StudentBalance;
+import com.bytexl.sms.model.StudentStatus;
+import com.bytexl.sms.rollover.RolloverPartition;
+import com.bytexl.sms.util.SqlLists;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TermRolloverDAO - Range reads over students and the term rollover checkpoints
+ * Plain JDBC on the caller's connection, so a checkpoint only moves when the
+ * chunk it covers commits.
+ */
+@Repository
+public class TermRolloverDAO {
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    /**
+     * Lowest and highest ID of the active students in the courses, or null if
+     * there are none. Answered from idx_students_course_status alone.
+     */
+    public long[] findIdRange(List<Long> courseIds) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT MIN(student_id), MAX(student_id) FROM students " +
+                    "WHERE course_id IN (" + SqlLists.placeholders(courseIds.size()) + ") AND status = ?")) {
+                int index = SqlLists.bindIds(statement, 1, courseIds);
+                statement.setString(index, StudentStatus.ACTIVE);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    long first = rs.getLong(1);
+                    return rs.wasNull() ? null : new long[] {first, rs.getLong(2)};
+                }
+            }
+        });
+    }
+
+    /**
+     * Active students in the courses with fromId <= student_id < toId, in ID
+     * order. A primary key range scan; with forUpdate the rows stay locked
+     * until the transaction ends.
+     */
+    public List<StudentBalance> findInRange(long fromId, long toId, List<Long> courseIds, boolean forUpdate) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT student_id, course_id, balance FROM students " +
+                    "WHERE student_id >= ? AND student_id < ? AND status = ? " +
+                    "AND course_id IN (" + SqlLists.placeholders(courseIds.size()) + ") " +
+                    "ORDER BY student_id" + (forUpdate ? " FOR UPDATE" : ""))) {
+                statement.setLong(1, fromId);
+                statement.setLong(2, toId);
+                statement.setString(3, StudentStatus.ACTIVE);
+                SqlLists.bindIds(statement, 4, courseIds);
+                List<StudentBalance> rows = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new StudentBalance(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3)));
+                    }
+                }
+                return rows;
+            }
+        });
+    }
+
+    /**
+     * The course list the rollover was started with, or null if it was never started
+     */
+    public String findCourseIds(String rolloverId) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT course_ids FROM term_rollovers WHERE rollover_id = ?")) {
+                statement.setString(1, rolloverId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() ? rs.getString(1) : null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Records a new rollover with its partitions
+     */
+    public void insert(String rolloverId, String courseIds, List<RolloverPartition> partitions) {
+        Session session = sessionFactory.getCurrentSession();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO term_rollovers (rollover_id, course_ids, started_at) VALUES (?, ?, ?)")) {
+                statement.setString(1, rolloverId);
+                statement.setString(2, courseIds);
+                statement.setTimestamp(3, now);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO term_rollover_partitions " +
+                    "(rollover_id, partition_no, next_student_id, end_student_id, students_assessed, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)")) {
+                for (RolloverPartition partition : partitions) {
+                    statement.setString(1, rolloverId);
+                    statement.setInt(2, partition.getPartitionNo());
+                    statement.setLong(3, partition.getNextStudentId());
+                    statement.setLong(4, partition.getEndStudentId());
+                    statement.setLong(5, partition.getStudentsAssessed());
+                    statement.setTimestamp(6, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    public List<RolloverPartition> findPartitions(String rolloverId) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT partition_no, next_student_id, end_student_id, students_assessed " +
+                    "FROM term_rollover_partitions WHERE rollover_id = ? ORDER BY partition_no")) {
+                statement.setString(1, rolloverId);
+                List<RolloverPartition> partitions = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        partitions.add(new RolloverPartition(rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+                    }
+                }
+                return partitions;
+            }
+        });
+    }
+
+    /**
+     * Locks the partition's checkpoint until the transaction ends and returns
+     * where it stands, so two runs of the same rollover never apply a chunk twice
+     */
+    public RolloverPartition lockPartition(String rolloverId, int partitionNo) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT next_student_id, end_student_id, students_assessed FROM term_rollover_partitions " +
+                    "WHERE rollover_id = ? AND partition_no = ? FOR UPDATE")) {
+                statement.setString(1, rolloverId);
+                statement.setInt(2, partitionNo);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("No partition " + partitionNo + " in rollover " + rolloverId);
+                    }
+                    return new RolloverPartition(partitionNo, rs.getLong(1), rs.getLong(2), rs.getLong(3));
+                }
+            }
+        });
+    }
+
+    /**
+     * Moves the checkpoint to nextStudentId and adds to its assessed count
+     */
+    public void advance(String rolloverId, int partitionNo, long nextStudentId, int assessed) {
+        Session session = sessionFactory.getCurrentSession();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE term_rollover_partitions " +
+                    "SET next_student_id = ?, students_assessed = students_assessed + ?, updated_at = ? " +
+                    "WHERE rollover_id = ? AND partition_no = ?")) {
+                statement.setLong(1, nextStudentId);
+                statement.setInt(2, assessed);
+                statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setString(4, rolloverId);
+                statement.setInt(5, partitionNo);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Stamps the rollover as finished, once
+     */
+    public int finish(String rolloverId) {
+        Session session = sessionFactory.getCurrentSession();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE term_rollovers SET finished_at = ? WHERE rollover_id = ? AND finished_at IS NULL")) {
+                statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setString(2, rolloverId);
+                return statement.executeUpdate();
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.bytexl.sms.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * BalanceDiscrepancy - A student whose stored balance differs from the ledger
+ */
+public class BalanceDiscrepancy {
+
+    private final Long studentId;
+    private final BigDecimal recordedBalance;
+    private final BigDecimal ledgerBalance;
+
+    public BalanceDiscrepancy(Long studentId, BigDecimal recordedBalance, BigDecimal ledgerBalance) {
+        this.studentId = studentId;
+        this.recordedBalance = recordedBalance;
+        this.ledgerBalance = ledgerBalance;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public BigDecimal getRecordedBalance() {
+        return recordedBalance;
+    }
+
+    public BigDecimal getLedgerBalance() {
+        return ledgerBalance;
+    }
+
+    public BigDecimal getDifference() {
+        return recordedBalance.subtract(ledgerBalance);
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceDiscrepancy{" +
+                "studentId=" + studentId +
+                ", recordedBalance=" + recordedBalance +
+                ", ledgerBalance=" + ledgerBalance +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.bytexl.sms.dto;
+
+/**
+ * CacheRegionStats - Hit/miss counters for one second-level cache region
+ */
+public class CacheRegionStats {
+
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long elementsInMemory;
+
+    public CacheRegionStats(String region, long hits, long misses, long puts, long elementsInMemory) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.elementsInMemory = elementsInMemory;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    /**
+     * Number of cached entries, or -1 if the provider does not report it
+     */
+    public long getElementsInMemory() {
+        return elementsInMemory;
+    }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: hits=%d misses=%d puts=%d size=%d hitRatio=%.2f",
+                region, hits, misses, puts, elementsInMemory, getHitRatio());
+    }
+}
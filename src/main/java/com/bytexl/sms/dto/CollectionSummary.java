@@ -0,0 +1,83 @@
+package com.bytexl.sms.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * CollectionSummary - Fees collected in a period against what is still owed
+ * The collection rate is collected / (collected + outstanding), where
+ * outstanding is the sum of positive balances at the time of the report.
+ */
+public class CollectionSummary {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long payments;
+    private final BigDecimal collected;
+    private final BigDecimal refunded;
+    private final BigDecimal outstanding;
+
+    public CollectionSummary(LocalDate from, LocalDate to, long payments, BigDecimal collected,
+                             BigDecimal refunded, BigDecimal outstanding) {
+        this.from = from;
+        this.to = to;
+        this.payments = payments;
+        this.collected = collected;
+        this.refunded = refunded;
+        this.outstanding = outstanding;
+    }
+
+    /**
+     * First day of the period (inclusive)
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Day after the period (exclusive)
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public long getPayments() {
+        return payments;
+    }
+
+    public BigDecimal getCollected() {
+        return collected;
+    }
+
+    public BigDecimal getRefunded() {
+        return refunded;
+    }
+
+    public BigDecimal getOutstanding() {
+        return outstanding;
+    }
+
+    /**
+     * Net collected (payments minus refunds) as a fraction of net collected plus
+     * outstanding, 0 when nothing was due
+     */
+    public BigDecimal getCollectionRate() {
+        BigDecimal net = collected.subtract(refunded);
+        BigDecimal due = net.add(outstanding);
+        return due.signum() <= 0 ? BigDecimal.ZERO : net.divide(due, 4, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public String toString() {
+        return "CollectionSummary{" +
+                "from=" + from +
+                ", to=" + to +
+                ", payments=" + payments +
+                ", collected=" + collected +
+                ", refunded=" + refunded +
+                ", outstanding=" + outstanding +
+                ", collectionRate=" + getCollectionRate() +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+package com.bytexl.sms.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * CourseOutstanding - Outstanding fees of one course
+ * courseId and courseName are null for students not enrolled in any course.
+ */
+public class CourseOutstanding {
+
+    private final Long courseId;
+    private final String courseName;
+    private final long students;
+    private final long studentsOwing;
+    private final BigDecimal outstanding;
+
+    public CourseOutstanding(Long courseId, String courseName, long students, long studentsOwing,
+                             BigDecimal outstanding) {
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.students = students;
+        this.studentsOwing = studentsOwing;
+        this.outstanding = outstanding;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    /**
+     * Students with a positive balance
+     */
+    public long getStudentsOwing() {
+        return studentsOwing;
+    }
+
+    /**
+     * Sum of positive balances
+     */
+    public BigDecimal getOutstanding() {
+        return outstanding;
+    }
+
+    @Override
+    public String toString() {
+        return "CourseOutstanding{" +
+                "courseId=" + courseId +
+                ", courseName='" + courseName + '\'' +
+                ", students=" + students +
+                ", studentsOwing=" + studentsOwing +
+                ", outstanding=" + outstanding +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.bytexl.sms.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * FeeDashboard - Balance totals computed in memory by BalanceColumns
+ */
+public class FeeDashboard {
+
+    private final long students;
+    private final BigDecimal totalBalance;
+    private final long studentsOwing;
+    private final BigDecimal outstanding;
+    private final BigDecimal maxBalance;
+    private final BigDecimal threshold;
+    private final long studentsAboveThreshold;
+    private final List<CourseOutstanding> byCourse;
+
+    public FeeDashboard(long students, BigDecimal totalBalance, long studentsOwing, BigDecimal outstanding,
+                        BigDecimal maxBalance, BigDecimal threshold, long studentsAboveThreshold,
+                        List<CourseOutstanding> byCourse) {
+        this.students = students;
+        this.totalBalance = totalBalance;
+        this.studentsOwing = studentsOwing;
+        this.outstanding = outstanding;
+        this.maxBalance = maxBalance;
+        this.threshold = threshold;
+        this.studentsAboveThreshold = studentsAboveThreshold;
+        this.byCourse = byCourse;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public long getStudentsOwing() {
+        return studentsOwing;
+    }
+
+    public BigDecimal getOutstanding() {
+        return outstanding;
+    }
+
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+
+    public long getStudentsAboveThreshold() {
+        return studentsAboveThreshold;
+    }
+
+    /**
+     * Outstanding per course, highest first
+     */
+    public List<CourseOutstanding> getByCourse() {
+        return byCourse;
+    }
+
+    @Override
+    public String toString() {
+        return "FeeDashboard{" +
+                "students=" + students +
+                ", totalBalance=" + totalBalance +
+                ", studentsOwing=" + studentsOwing +
+                ", outstanding=" + outstanding +
+                ", maxBalance=" + maxBalance +
+                ", studentsAbove(" + threshold + ")=" + studentsAboveThreshold +
+                ", byCourse=" + byCourse +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.bytexl.sms.dto;
+
+import com.bytexl.sms.model.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * PaymentReceipt - Outcome of a committed payment or refund
+ */
+public class PaymentReceipt {
+
+    private final Long studentId;
+    private final PaymentType paymentType;
+    private final BigDecimal amount;
+    private final BigDecimal newBalance;
+    private final LocalDateTime processedAt;
+
+    public PaymentReceipt(Long studentId, PaymentType paymentType, BigDecimal amount,
+                          BigDecimal newBalance, LocalDateTime processedAt) {
+        this.studentId = studentId;
+        this.paymentType = paymentType;
+        this.amount = amount;
+        this.newBalance = newBalance;
+        this.processedAt = processedAt;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public PaymentType getPaymentType() {
+        return paymentType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Student balance right after this payment was applied
+     */
+    public BigDecimal getNewBalance() {
+        return newBalance;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentReceipt{" +
+                "studentId=" + studentId +
+                ", paymentType=" + paymentType +
+                ", amount=" + amount +
+                ", newBalance=" + newBalance +
+                ", processedAt=" + processedAt +
+                '}';
+    }
+}
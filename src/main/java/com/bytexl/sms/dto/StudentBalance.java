@@ -0,0 +1,31 @@
+package com.bytexl.sms.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * StudentBalance - A student's course and balance, as read for fee assessment
+ */
+public class StudentBalance {
+
+    private final Long studentId;
+    private final Long courseId;
+    private final BigDecimal balance;
+
+    public StudentBalance(Long studentId, Long courseId, BigDecimal balance) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.balance = balance;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bytexl.sms.dto;
+
+/**
+ * StudentMatch - One student search hit
+ * Carries only the searchable fields, so the search index can answer
+ * without touching the database.
+ */
+public class StudentMatch {
+
+    private final Long studentId;
+    private final String name;
+    private final String email;
+    private final String phone;
+
+    public StudentMatch(Long studentId, String name, String email, String phone) {
+        this.studentId = studentId;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentMatch{" +
+                "studentId=" + studentId +
+                ", name='" + name + '\'' +
+                ", email='" + email + '\'' +
+                ", phone='" + phone + '\'' +
+                '}';
+    }
+}
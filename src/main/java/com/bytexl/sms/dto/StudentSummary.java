@@ -0,0 +1,66 @@
+package com.bytexl.sms.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * StudentSummary - Read model for student listings and course rosters
+ * Built by HQL constructor expressions, so only these columns are selected
+ * and nothing is attached to the Session or dirty-checked.
+ */
+public class StudentSummary {
+
+    private final Long studentId;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final BigDecimal balance;
+    private final String courseName;
+
+    public StudentSummary(Long studentId, String name, String email, String phone,
+                          BigDecimal balance, String courseName) {
+        this.studentId = studentId;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.balance = balance;
+        this.courseName = courseName;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    /**
+     * Course name, or null if the student is not enrolled
+     */
+    public String getCourseName() {
+        return courseName;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentSummary{" +
+                "studentId=" + studentId +
+                ", name='" + name + '\'' +
+                ", email='" + email + '\'' +
+                ", balance=" + balance +
+                ", courseName='" + courseName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.bytexl.sms.metrics;
+
+import com.bytexl.sms.balance.BalanceSnapshot;
+import com.bytexl.sms.service.AsyncPaymentProcessor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * MetricsBinder - Registers metrics that are read from other components
+ * Hibernate statistics (queries, entity loads, second-level cache hits) and
+ * the async payment queue depth and the balance
+ * snapshot's size and hit rate. HikariCP pool gauges are registered by
+ * the pool itself, see AppConfig.dataSource().
+ */
+@Component
+public class MetricsBinder implements SmartInitializingSingleton {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private AsyncPaymentProcessor asyncPaymentProcessor;
+
+    @Autowired
+    private BalanceSnapshot balanceSnapshot;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        new HibernateMetrics(sessionFactory, "sessionFactory", Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("sms.payments.async.queue.depth", asyncPaymentProcessor, AsyncPaymentProcessor::getQueueDepth)
+                .description("Payments waiting for an async worker")
+                .register(meterRegistry);
+        Gauge.builder("sms.balance.snapshot.size", balanceSnapshot, BalanceSnapshot::size)
+                .description("Students in the balance snapshot")
+                .register(meterRegistry);
+        FunctionCounter.builder("sms.balance.snapshot.requests", balanceSnapshot, BalanceSnapshot::getHitCount)
+                .tag("result", "hit")
+                .description("Balance checks served from the snapshot")
+                .register(meterRegistry);
+        FunctionCounter.builder("sms.balance.snapshot.requests", balanceSnapshot, BalanceSnapshot::getMissCount)
+                .tag("result", "miss")
+                .description("Balance checks that fell back to the database")
+                .register(meterRegistry);
+    }
+}
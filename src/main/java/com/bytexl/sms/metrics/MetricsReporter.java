@@ -0,0 +1,78 @@
+package com.bytexl.sms.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsReporter - Renders a plain-text snapshot of all registered metrics
+ * One line per meter, sorted by name; timers show count, mean, p50, p99 and max in ms.
+ */
+@Component
+public class MetricsReporter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public String snapshot() {
+        List<Meter> meters = new ArrayList<>(meterRegistry.getMeters());
+        meters.sort(Comparator.comparing(MetricsReporter::describe));
+
+        StringBuilder out = new StringBuilder();
+        for (Meter meter : meters) {
+            out.append(describe(meter)).append(' ');
+            if (meter instanceof Timer) {
+                appendTimer(out, ((Timer) meter).takeSnapshot());
+            } else {
+                for (Measurement measurement : meter.measure()) {
+                    out.append(measurement.getStatistic().getTagValueRepresentation())
+                            .append('=').append(format(measurement.getValue())).append(' ');
+                }
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void appendTimer(StringBuilder out, HistogramSnapshot snapshot) {
+        out.append("count=").append(snapshot.count())
+                .append(" mean=").append(format(snapshot.mean(TimeUnit.MILLISECONDS))).append("ms");
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            out.append(" p").append((int) Math.round(percentile.percentile() * 100)).append('=')
+                    .append(format(percentile.value(TimeUnit.MILLISECONDS))).append("ms");
+        }
+        out.append(" max=").append(format(snapshot.max(TimeUnit.MILLISECONDS))).append("ms");
+    }
+
+    private static String describe(Meter meter) {
+        StringBuilder name = new StringBuilder(meter.getId().getName());
+        List<Tag> tags = meter.getId().getTags();
+        if (!tags.isEmpty()) {
+            name.append('{');
+            for (int i = 0; i < tags.size(); i++) {
+                if (i > 0) {
+                    name.append(',');
+                }
+                name.append(tags.get(i).getKey()).append('=').append(tags.get(i).getValue());
+            }
+            name.append('}');
+        }
+        return name.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,184 @@
+package com.bytexl.sms.metrics;
+
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * StartupTimeline - Records where application startup time goes
+ *
+ * Plugged into the context with setApplicationStartup(), it receives the
+ * steps Spring reports while refreshing (configuration parsing, bean
+ * post-processing, every bean instantiation). Application code adds its own
+ * phases with phase(). report() lists the top-level phases in the order they
+ * ran and the beans that took longest to create, counting only time spent in
+ * the bean itself and not in the beans it pulled in.
+ */
+public class StartupTimeline implements ApplicationStartup {
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+    private static final int SLOWEST_BEANS = 10;
+
+    private final long origin = System.nanoTime();
+    private final AtomicLong ids = new AtomicLong();
+    private final ThreadLocal<Deque<Step>> open = ThreadLocal.withInitial(ArrayDeque::new);
+    private final List<Step> finished = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public StartupStep start(String name) {
+        Deque<Step> stack = open.get();
+        Step step = new Step(ids.incrementAndGet(), name, stack.peek());
+        stack.push(step);
+        return step;
+    }
+
+    /**
+     * Times an application phase, e.g. opening the context or the first query
+     */
+    public <T> T phase(String name, Supplier<T> body) {
+        StartupStep step = start(name);
+        try {
+            return body.get();
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Milliseconds since this timeline was created
+     */
+    public long elapsedMillis() {
+        return (System.nanoTime() - origin) / 1_000_000;
+    }
+
+    public String report() {
+        List<Step> steps;
+        synchronized (finished) {
+            steps = new ArrayList<>(finished);
+        }
+
+        Map<String, long[]> phases = new LinkedHashMap<>();
+        List<Step> beans = new ArrayList<>();
+        for (Step step : steps) {
+            if (BEAN_STEP.equals(step.name)) {
+                beans.add(step);
+            } else if (step.parent == null) {
+                long[] totals = phases.computeIfAbsent(step.name, k -> new long[2]);
+                totals[0] += step.nanos;
+                totals[1]++;
+            }
+        }
+        beans.sort((a, b) -> Long.compare(b.selfNanos(), a.selfNanos()));
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Startup took %d ms%n", elapsedMillis()));
+        report.append(String.format("  Phases:%n"));
+        for (Map.Entry<String, long[]> phase : phases.entrySet()) {
+            long[] totals = phase.getValue();
+            report.append(String.format("    %-60s %7d ms%s%n", phase.getKey(), totals[0] / 1_000_000,
+                    totals[1] > 1 ? " (" + totals[1] + "x)" : ""));
+        }
+        report.append(String.format("  Slowest beans (%d created):%n", beans.size()));
+        for (Step bean : beans.subList(0, Math.min(SLOWEST_BEANS, beans.size()))) {
+            report.append(String.format("    %-60s %7d ms%n", bean.beanName(), bean.selfNanos() / 1_000_000));
+        }
+        return report.toString();
+    }
+
+    private final class Step implements StartupStep {
+
+        private final long id;
+        private final String name;
+        private final Step parent;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, String> tags = new LinkedHashMap<>();
+        private long nanos;
+        private long childNanos;
+
+        Step(long id, String name, Step parent) {
+            this.id = id;
+            this.name = name;
+            this.parent = parent;
+        }
+
+        long selfNanos() {
+            return nanos - childNanos;
+        }
+
+        String beanName() {
+            String beanName = tags.get("beanName");
+            return beanName == null ? name : beanName;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parent == null ? null : parent.id;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Override
+        public Tags getTags() {
+            List<Tag> list = new ArrayList<>(tags.size());
+            for (Map.Entry<String, String> entry : tags.entrySet()) {
+                list.add(new Tag() {
+                    @Override
+                    public String getKey() {
+                        return entry.getKey();
+                    }
+
+                    @Override
+                    public String getValue() {
+                        return entry.getValue();
+                    }
+                });
+            }
+            return list::iterator;
+        }
+
+        @Override
+        public void end() {
+            nanos = System.nanoTime() - startNanos;
+            if (parent != null) {
+                parent.childNanos += nanos;
+            }
+            Deque<Step> stack = open.get();
+            for (Iterator<Step> it = stack.iterator(); it.hasNext(); ) {
+                if (it.next() == this) {
+                    it.remove();
+                    break;
+                }
+            }
+            finished.add(this);
+        }
+    }
+}
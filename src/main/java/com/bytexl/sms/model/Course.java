@@ -1,5 +1,8 @@
 package com.bytexl.sms.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -8,9 +11,12 @@ import java.util.List;
 /**
  * Course Entity - Represents a course that students can enroll in
  * Demonstrates one-to-many relationship with Student
+ * Cached in the second-level cache - courses are read far more often than written
  */
 @Entity
 @Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "course")
 public class Course {
 
     @Id
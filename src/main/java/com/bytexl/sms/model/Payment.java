@@ -0,0 +1,78 @@
+package com.bytexl.sms.model;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payment Entity - Append-only ledger entry for a student's balance
+ * Rows are never updated; a student's balance is the sum of the
+ * balance deltas of its entries (see PaymentType).
+ */
+@Entity
+@Immutable
+@Table(name = "payments")
+public class Payment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", length = 20)
+    private PaymentType paymentType;
+
+    @Column(name = "payment_date")
+    private LocalDateTime paymentDate;
+
+    // Constructors
+    public Payment() {}
+
+    public Payment(Long studentId, PaymentType paymentType, BigDecimal amount) {
+        this.studentId = studentId;
+        this.paymentType = paymentType;
+        this.amount = amount;
+        this.paymentDate = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public PaymentType getPaymentType() {
+        return paymentType;
+    }
+
+    public LocalDateTime getPaymentDate() {
+        return paymentDate;
+    }
+
+    @Override
+    public String toString() {
+        return "Payment{" +
+                "paymentId=" + paymentId +
+                ", studentId=" + studentId +
+                ", amount=" + amount +
+                ", paymentType=" + paymentType +
+                ", paymentDate=" + paymentDate +
+                '}';
+    }
+}
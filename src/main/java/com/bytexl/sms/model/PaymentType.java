@@ -0,0 +1,21 @@
+package com.bytexl.sms.model;
+
+import java.math.BigDecimal;
+
+/**
+ * PaymentType - Kind of ledger entry
+ * PAYMENT reduces the balance, REFUND increases it,
+ * ADJUSTMENT carries a signed delta (opening balances, course fee changes).
+ */
+public enum PaymentType {
+    PAYMENT,
+    REFUND,
+    ADJUSTMENT;
+
+    /**
+     * Effect of an entry of this type on the student's balance
+     */
+    public BigDecimal balanceDelta(BigDecimal amount) {
+        return this == PAYMENT ? amount.negate() : amount;
+    }
+}
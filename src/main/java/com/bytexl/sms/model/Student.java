@@ -1,5 +1,10 @@
 package com.bytexl.sms.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -7,20 +12,36 @@ import java.time.LocalDateTime;
 /**
  * Student Entity - Represents a student in the management system
  * Demonstrates Hibernate ORM mapping and relationship with Course
+ * Cached read-write in the second-level cache
+ * The activeStudents filter limits queries to ACTIVE students; StudentDAO
+ * enables it for listings, rosters and search.
  */
 @Entity
 @Table(name = "students")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "student")
+@FilterDef(name = Student.ACTIVE_FILTER, defaultCondition = "status = 'ACTIVE'")
+@Filter(name = Student.ACTIVE_FILTER)
 public class Student {
 
+    public static final String ACTIVE_FILTER = "activeStudents";
+
+    /**
+     * Pooled table generator - IDs are reserved in blocks of 50 so Hibernate
+     * can batch inserts (IDENTITY forces one round trip per row)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "student_id_generator")
+    @TableGenerator(name = "student_id_generator", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "students", allocationSize = 50)
     @Column(name = "student_id")
     private Long studentId;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
-    @Column(name = "email", unique = true, nullable = false, length = 100)
+    @Column(name = "email", nullable = false, length = 100)
     private String email;
 
     @Column(name = "phone", length = 15)
@@ -37,7 +58,10 @@ public class Student {
     private LocalDateTime enrollmentDate;
 
     @Column(name = "status", length = 20)
-    private String status = "ACTIVE";
+    private String status = StudentStatus.ACTIVE;
+
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
 
     // Constructors
     public Student() {
@@ -116,6 +140,14 @@ public class Student {
         this.status = status;
     }
 
+    public LocalDateTime getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+    }
+
     @Override
     public String toString() {
         return "Student{" +
@@ -0,0 +1,27 @@
+package com.bytexl.sms.model;
+
+/**
+ * StudentStatus - Values of Student.status
+ * Only ACTIVE students appear in listings, rosters and search. GRADUATED
+ * and DELETED students keep their payments and can still be looked up by
+ * ID or email until ArchivalService moves them to the archive tables.
+ * Email is unique among ACTIVE students only (V8), so the address of a
+ * deleted or graduated student can be registered again straight away.
+ */
+public final class StudentStatus {
+
+    public static final String ACTIVE = "ACTIVE";
+    public static final String GRADUATED = "GRADUATED";
+    public static final String DELETED = "DELETED";
+
+    private StudentStatus() {
+    }
+
+    /**
+     * True for exactly one of the constants above; the comparison is
+     * case-sensitive, like the activeStudents filter
+     */
+    public static boolean isKnown(String status) {
+        return ACTIVE.equals(status) || GRADUATED.equals(status) || DELETED.equals(status);
+    }
+}
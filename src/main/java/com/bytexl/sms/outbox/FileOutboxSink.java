@@ -0,0 +1,46 @@
+package com.bytexl.sms.outbox;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * FileOutboxSink - Appends events as JSON lines to a file
+ * Each batch is written in one go and forced to disk before publish returns.
+ */
+public class FileOutboxSink implements OutboxSink, AutoCloseable {
+
+    private final FileChannel channel;
+    private final Writer writer;
+
+    public FileOutboxSink(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), 64 * 1024);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        for (OutboxEvent event : events) {
+            writer.write(event.toJson());
+            writer.write('\n');
+        }
+        writer.flush();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bytexl.sms.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * LogOutboxSink - Writes each event as a JSON line to the "outbox" logger
+ */
+public class LogOutboxSink implements OutboxSink {
+
+    private static final Logger logger = LoggerFactory.getLogger("outbox");
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            logger.info(event.toJson());
+        }
+    }
+}
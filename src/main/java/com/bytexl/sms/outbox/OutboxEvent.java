@@ -0,0 +1,152 @@
+package com.bytexl.sms.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * OutboxEvent - One change to a student, as stored in outbox_events
+ *
+ * The aggregate is always the student, so a consumer that partitions by
+ * aggregateId sees each student's changes in order. The payload is a small
+ * JSON object built with the payload() builder. eventId is assigned by the
+ * database and is what consumers de-duplicate on: delivery is at least once.
+ */
+public class OutboxEvent {
+
+    public static final String STUDENT = "STUDENT";
+
+    public static final String STUDENT_CREATED = "STUDENT_CREATED";
+    public static final String STUDENT_UPDATED = "STUDENT_UPDATED";
+    public static final String STUDENT_ENROLLED = "STUDENT_ENROLLED";
+    public static final String STUDENT_DELETED = "STUDENT_DELETED";
+    public static final String STUDENT_GRADUATED = "STUDENT_GRADUATED";
+    public static final String PAYMENT_RECORDED = "PAYMENT_RECORDED";
+    public static final String REFUND_RECORDED = "REFUND_RECORDED";
+    public static final String FEE_ASSESSED = "FEE_ASSESSED";
+
+    private final Long eventId;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime createdAt;
+
+    public OutboxEvent(Long eventId, String aggregateType, Long aggregateId, String eventType,
+                       String payload, LocalDateTime createdAt) {
+        this.eventId = eventId;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * A new student event, not yet stored
+     */
+    public static OutboxEvent student(Long studentId, String eventType, String payload) {
+        return new OutboxEvent(null, STUDENT, studentId, eventType, payload, LocalDateTime.now());
+    }
+
+    public static Payload payload() {
+        return new Payload();
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * The whole event as one JSON line, for sinks
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(payload.length() + 128);
+        json.append("{\"eventId\":").append(eventId);
+        json.append(",\"aggregateType\":");
+        Payload.appendString(json, aggregateType);
+        json.append(",\"aggregateId\":").append(aggregateId);
+        json.append(",\"eventType\":");
+        Payload.appendString(json, eventType);
+        json.append(",\"createdAt\":");
+        Payload.appendString(json, createdAt == null ? null : createdAt.toString());
+        json.append(",\"payload\":").append(payload).append('}');
+        return json.toString();
+    }
+
+    /**
+     * Builds a flat JSON object of strings and numbers
+     */
+    public static class Payload {
+
+        private final StringBuilder json = new StringBuilder("{");
+
+        public Payload field(String name, String value) {
+            name(name);
+            appendString(json, value);
+            return this;
+        }
+
+        public Payload field(String name, Long value) {
+            name(name);
+            json.append(value == null ? "null" : value.toString());
+            return this;
+        }
+
+        public Payload field(String name, BigDecimal value) {
+            name(name);
+            json.append(value == null ? "null" : value.toPlainString());
+            return this;
+        }
+
+        public String build() {
+            return json.toString() + '}';
+        }
+
+        private void name(String name) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendString(json, name);
+            json.append(':');
+        }
+
+        static void appendString(StringBuilder json, String value) {
+            if (value == null) {
+                json.append("null");
+                return;
+            }
+            json.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            json.append('"');
+        }
+    }
+}
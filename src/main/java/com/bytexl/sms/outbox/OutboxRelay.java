@@ -0,0 +1,163 @@
+package com.bytexl.sms.outbox;
+
+import com.bytexl.sms.config.FastStartConfig;
+import com.bytexl.sms.dao.OutboxDAO;
+import com.bytexl.sms.util.SqlLists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * OutboxRelay - Publishes committed outbox events to the OutboxSink
+ *
+ * A single thread reads up to outbox.batchSize events in event ID order,
+ * hands them to the sink and deletes them once the sink returns. It is woken
+ * after every commit that wrote events and otherwise polls every
+ * outbox.pollIntervalMs. A failing sink is retried with the same batch and
+ * a growing back-off, so delivery is at least once; consumers de-duplicate
+ * on eventId.
+ *
+ * Order is guaranteed per student only. Changes to one student lock its
+ * row before writing their event, so that student's events commit, and are
+ * published, in event ID order. Across students, a transaction may commit
+ * after a later event ID has already been published; its events are then
+ * published in the next batch. Nothing is skipped, since the relay deletes
+ * what it publishes rather than keeping a position.
+ *
+ * Disabled with outbox.relay.enabled=false and under the fast-start
+ * profile; events then stay in the table for the next regular run.
+ */
+@Component
+public class OutboxRelay implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private OutboxDAO outboxDAO;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment env;
+
+    private final AtomicLong published = new AtomicLong();
+    private TransactionTemplate transactionTemplate;
+    private int batchSize;
+    private long pollIntervalNanos;
+    private volatile boolean running;
+    private volatile Thread relayThread;
+
+    @Override
+    public void afterPropertiesSet() {
+        // Not read-only: the relay must read the primary, never a lagging replica
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        batchSize = Math.min(env.getProperty("outbox.batchSize", Integer.class, 500), SqlLists.MAX_IN_LIST);
+        pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(env.getProperty("outbox.pollIntervalMs", Long.class, 1000L));
+        if (!env.getProperty("outbox.relay.enabled", Boolean.class, true) || FastStartConfig.isActive(env)) {
+            return;
+        }
+
+        running = true;
+        Thread thread = new Thread(this::relayLoop, "outbox-relay");
+        thread.setDaemon(true);
+        relayThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(SHUTDOWN_TIMEOUT_MS);
+        }
+        if (sink instanceof AutoCloseable) {
+            ((AutoCloseable) sink).close();
+        }
+    }
+
+    /**
+     * Makes the relay look for new events now instead of at the next poll
+     */
+    public void wake() {
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Events published since startup
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * Publishes up to one batch of events. Returns the number published.
+     */
+    public int relayBatch() throws IOException {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> outboxDAO.findOldest(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        sink.publish(events);
+
+        List<Long> eventIds = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            eventIds.add(event.getEventId());
+        }
+        transactionTemplate.execute(status -> outboxDAO.delete(eventIds));
+        published.addAndGet(events.size());
+        return events.size();
+    }
+
+    private void relayLoop() {
+        long backoffMs = 0;
+        while (running) {
+            try {
+                int count = relayBatch();
+                backoffMs = 0;
+                if (count < batchSize) {
+                    LockSupport.parkNanos(this, pollIntervalNanos);
+                }
+            } catch (IOException | RuntimeException e) {
+                backoffMs = backoffMs == 0 ? 100 : Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+                logger.warn("Outbox relay failed, retrying in {} ms", backoffMs, e);
+                backOff(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+            }
+        }
+    }
+
+    /**
+     * Waits out the back-off; wake() calls from new commits do not cut it short
+     */
+    private void backOff(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bytexl.sms.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * OutboxSink - Destination for published outbox events
+ * Implementations receive batches in event ID order and must only return
+ * once the whole batch is durable; an exception makes the relay retry the
+ * same batch, so a sink may see an event more than once.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+}
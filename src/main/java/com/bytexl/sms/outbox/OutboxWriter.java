@@ -0,0 +1,124 @@
+package com.bytexl.sms.outbox;
+
+import com.bytexl.sms.dao.OutboxDAO;
+import com.bytexl.sms.dto.StudentBalance;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OutboxWriter - Records student and fee changes as outbox events
+ * Call inside the transaction making the change: the event row is written
+ * on the same connection, so it exists exactly when the change commits.
+ * After the commit the relay is woken to publish it.
+ *
+ * Call after the change has been written to the students table, not merely
+ * to the Session: the write takes the student's row lock, so a concurrent
+ * change to the same student waits and gets a later event ID. That is what
+ * keeps each student's events in order.
+ */
+@Component
+public class OutboxWriter {
+
+    @Autowired
+    private OutboxDAO outboxDAO;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    public void studentCreated(Student student) {
+        append(OutboxEvent.student(student.getStudentId(), OutboxEvent.STUDENT_CREATED, snapshot(student)));
+    }
+
+    public void studentsCreated(Iterable<Student> students) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (Student student : students) {
+            events.add(OutboxEvent.student(student.getStudentId(), OutboxEvent.STUDENT_CREATED, snapshot(student)));
+        }
+        appendAll(events);
+    }
+
+    /**
+     * The student as reloaded after StudentDAO.updateContact, which has
+     * already locked the row
+     */
+    public void studentUpdated(Student student) {
+        append(OutboxEvent.student(student.getStudentId(), OutboxEvent.STUDENT_UPDATED, snapshot(student)));
+    }
+
+    /**
+     * eventType is STUDENT_DELETED or STUDENT_GRADUATED
+     */
+    public void statusChanged(Long studentId, String eventType, String status) {
+        append(OutboxEvent.student(studentId, eventType,
+                OutboxEvent.payload().field("status", status).build()));
+    }
+
+    public void studentsEnrolled(List<Long> studentIds, Long courseId, BigDecimal balance) {
+        String payload = OutboxEvent.payload()
+                .field("courseId", courseId)
+                .field("balance", balance)
+                .build();
+        List<OutboxEvent> events = new ArrayList<>(studentIds.size());
+        for (Long studentId : studentIds) {
+            events.add(OutboxEvent.student(studentId, OutboxEvent.STUDENT_ENROLLED, payload));
+        }
+        appendAll(events);
+    }
+
+    /**
+     * eventType is PAYMENT_RECORDED or REFUND_RECORDED
+     */
+    public void balanceChanged(Long studentId, String eventType, BigDecimal amount, BigDecimal balance) {
+        append(OutboxEvent.student(studentId, eventType, OutboxEvent.payload()
+                .field("amount", amount)
+                .field("balance", balance)
+                .build()));
+    }
+
+    /**
+     * The students' balances were reset to the course fee; each event carries
+     * the change from the balance they had before
+     */
+    public void feesAssessed(Long courseId, BigDecimal fee, List<StudentBalance> before) {
+        List<OutboxEvent> events = new ArrayList<>(before.size());
+        for (StudentBalance student : before) {
+            BigDecimal balance = student.getBalance() == null ? BigDecimal.ZERO : student.getBalance();
+            events.add(OutboxEvent.student(student.getStudentId(), OutboxEvent.FEE_ASSESSED, OutboxEvent.payload()
+                    .field("courseId", courseId)
+                    .field("balance", fee)
+                    .field("delta", fee.subtract(balance))
+                    .build()));
+        }
+        appendAll(events);
+    }
+
+    private void append(OutboxEvent event) {
+        outboxDAO.insert(event);
+        TransactionCallbacks.afterCommit(relay::wake);
+    }
+
+    private void appendAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxDAO.insertAll(events);
+        TransactionCallbacks.afterCommit(relay::wake);
+    }
+
+    private static String snapshot(Student student) {
+        return OutboxEvent.payload()
+                .field("name", student.getName())
+                .field("email", student.getEmail())
+                .field("phone", student.getPhone())
+                .field("balance", student.getBalance())
+                .field("courseId", student.getCourse() == null ? null : student.getCourse().getCourseId())
+                .field("status", student.getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.bytexl.sms.report;
+
+import com.bytexl.sms.dto.CourseOutstanding;
+import com.bytexl.sms.dto.FeeDashboard;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * BalanceColumns - Column-oriented snapshot of student balances for in-memory analysis
+ *
+ * Balances are held as long cents and courses as dense int slots, so a pass
+ * over hundreds of thousands of students touches a few primitive arrays
+ * instead of Student and BigDecimal objects. Aggregations split the rows into
+ * ranges on the fork-join pool and merge the partial results.
+ *
+ * A snapshot is immutable; load a new one from ReportService to refresh.
+ */
+public class BalanceColumns {
+
+    /**
+     * Course slot of students without a course
+     */
+    public static final int NO_COURSE = -1;
+
+    private static final int SEQUENTIAL_THRESHOLD = 16_384;
+
+    private final long[] studentIds;
+    private final long[] balanceCents;
+    private final int[] courseSlots;
+    private final long[] courseIds;
+    private final String[] courseNames;
+
+    /**
+     * courseSlots[i] indexes courseIds and courseNames, or is NO_COURSE
+     */
+    public BalanceColumns(long[] studentIds, long[] balanceCents, int[] courseSlots,
+                          long[] courseIds, String[] courseNames) {
+        if (studentIds.length != balanceCents.length || studentIds.length != courseSlots.length) {
+            throw new IllegalArgumentException("Columns must have the same length");
+        }
+        this.studentIds = studentIds;
+        this.balanceCents = balanceCents;
+        this.courseSlots = courseSlots;
+        this.courseIds = courseIds;
+        this.courseNames = courseNames;
+    }
+
+    public int size() {
+        return studentIds.length;
+    }
+
+    /**
+     * Totals, per-course outstanding and the number of students owing more than threshold
+     */
+    public FeeDashboard summarize(BigDecimal threshold) {
+        long thresholdCents = toCents(threshold);
+        Totals totals = ForkJoinPool.commonPool().invoke(new TotalsTask(thresholdCents, 0, size()));
+
+        List<CourseOutstanding> byCourse = new ArrayList<>();
+        for (int slot = 0; slot <= courseIds.length; slot++) {
+            if (totals.courseStudents[slot] == 0) {
+                continue;
+            }
+            boolean unassigned = slot == courseIds.length;
+            byCourse.add(new CourseOutstanding(
+                    unassigned ? null : courseIds[slot],
+                    unassigned ? null : courseNames[slot],
+                    totals.courseStudents[slot],
+                    totals.courseOwing[slot],
+                    fromCents(totals.courseOutstanding[slot])));
+        }
+        byCourse.sort(Comparator.comparing(CourseOutstanding::getOutstanding).reversed());
+
+        return new FeeDashboard(size(), fromCents(totals.total), totals.owing, fromCents(totals.outstanding),
+                size() == 0 ? BigDecimal.ZERO.setScale(2) : fromCents(totals.max),
+                threshold, totals.above, byCourse);
+    }
+
+    /**
+     * IDs of the students whose balance is greater than threshold, in snapshot order
+     */
+    public long[] studentsAbove(BigDecimal threshold) {
+        long thresholdCents = toCents(threshold);
+        return ForkJoinPool.commonPool().invoke(new AboveTask(thresholdCents, 0, size()));
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Partial aggregate of one row range. The last course slot collects
+     * students without a course.
+     */
+    private final class Totals {
+
+        long total;
+        long outstanding;
+        long owing;
+        long above;
+        long max = Long.MIN_VALUE;
+        final long[] courseOutstanding = new long[courseIds.length + 1];
+        final long[] courseStudents = new long[courseIds.length + 1];
+        final long[] courseOwing = new long[courseIds.length + 1];
+
+        Totals merge(Totals other) {
+            total += other.total;
+            outstanding += other.outstanding;
+            owing += other.owing;
+            above += other.above;
+            max = Math.max(max, other.max);
+            for (int i = 0; i < courseOutstanding.length; i++) {
+                courseOutstanding[i] += other.courseOutstanding[i];
+                courseStudents[i] += other.courseStudents[i];
+                courseOwing[i] += other.courseOwing[i];
+            }
+            return this;
+        }
+    }
+
+    private final class TotalsTask extends RecursiveTask<Totals> {
+
+        private final long thresholdCents;
+        private final int from;
+        private final int to;
+
+        TotalsTask(long thresholdCents, int from, int to) {
+            this.thresholdCents = thresholdCents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                TotalsTask left = new TotalsTask(thresholdCents, from, mid);
+                left.fork();
+                Totals right = new TotalsTask(thresholdCents, mid, to).compute();
+                return left.join().merge(right);
+            }
+
+            Totals totals = new Totals();
+            int unassigned = courseIds.length;
+            for (int i = from; i < to; i++) {
+                long cents = balanceCents[i];
+                int slot = courseSlots[i] == NO_COURSE ? unassigned : courseSlots[i];
+                totals.total += cents;
+                totals.max = Math.max(totals.max, cents);
+                totals.courseStudents[slot]++;
+                if (cents > 0) {
+                    totals.outstanding += cents;
+                    totals.owing++;
+                    totals.courseOutstanding[slot] += cents;
+                    totals.courseOwing[slot]++;
+                }
+                if (cents > thresholdCents) {
+                    totals.above++;
+                }
+            }
+            return totals;
+        }
+    }
+
+    private final class AboveTask extends RecursiveTask<long[]> {
+
+        private final long thresholdCents;
+        private final int from;
+        private final int to;
+
+        AboveTask(long thresholdCents, int from, int to) {
+            this.thresholdCents = thresholdCents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                AboveTask left = new AboveTask(thresholdCents, from, mid);
+                left.fork();
+                long[] right = new AboveTask(thresholdCents, mid, to).compute();
+                long[] leftIds = left.join();
+                long[] ids = Arrays.copyOf(leftIds, leftIds.length + right.length);
+                System.arraycopy(right, 0, ids, leftIds.length, right.length);
+                return ids;
+            }
+
+            long[] ids = new long[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (balanceCents[i] > thresholdCents) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = studentIds[i];
+                }
+            }
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
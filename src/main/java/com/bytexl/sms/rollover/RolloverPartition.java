@@ -0,0 +1,59 @@
+package com.bytexl.sms.rollover;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RolloverPartition - Checkpoint of one student ID range of a term rollover
+ * Students from nextStudentId (inclusive) to endStudentId (exclusive) are
+ * still to be assessed.
+ */
+public class RolloverPartition {
+
+    private final int partitionNo;
+    private final long nextStudentId;
+    private final long endStudentId;
+    private final long studentsAssessed;
+
+    public RolloverPartition(int partitionNo, long nextStudentId, long endStudentId, long studentsAssessed) {
+        this.partitionNo = partitionNo;
+        this.nextStudentId = nextStudentId;
+        this.endStudentId = endStudentId;
+        this.studentsAssessed = studentsAssessed;
+    }
+
+    public int getPartitionNo() {
+        return partitionNo;
+    }
+
+    public long getNextStudentId() {
+        return nextStudentId;
+    }
+
+    public long getEndStudentId() {
+        return endStudentId;
+    }
+
+    public long getStudentsAssessed() {
+        return studentsAssessed;
+    }
+
+    public boolean isDone() {
+        return nextStudentId >= endStudentId;
+    }
+
+    /**
+     * Splits [first, end) into at most count contiguous ranges of about equal width
+     */
+    static List<RolloverPartition> split(long first, long end, int count) {
+        List<RolloverPartition> partitions = new ArrayList<>(count);
+        long width = Math.max(1, (end - first + count - 1) / count);
+        long from = first;
+        for (int i = 0; i < count && from < end; i++) {
+            long to = Math.min(from + width, end);
+            partitions.add(new RolloverPartition(i, from, to, 0));
+            from = to;
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,146 @@
+package com.bytexl.sms.rollover;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * RolloverReport - Progress and outcome of a term rollover run
+ * Updated by the partition workers after every committed chunk, so it can
+ * be read while the run is in progress. Counts cover this run only; work
+ * committed by earlier runs of the same rollover is in previouslyAssessed.
+ */
+public class RolloverReport {
+
+    private final String rolloverId;
+    private final boolean dryRun;
+    private final long startNanos = System.nanoTime();
+    private long idsTotal;
+    private long idsDone;
+    private long studentsScanned;
+    private long studentsAssessed;
+    private long previouslyAssessed;
+    private BigDecimal totalDelta = BigDecimal.ZERO;
+    private final Map<Long, Long> assessedByCourse = new TreeMap<>();
+    private final Map<Long, BigDecimal> deltaByCourse = new TreeMap<>();
+    private final List<String> failures = new ArrayList<>();
+    private long elapsedMillis = -1;
+
+    RolloverReport(String rolloverId, boolean dryRun) {
+        this.rolloverId = rolloverId;
+        this.dryRun = dryRun;
+    }
+
+    synchronized void started(long idsTotal, long previouslyAssessed) {
+        this.idsTotal = idsTotal;
+        this.previouslyAssessed = previouslyAssessed;
+    }
+
+    synchronized void chunkDone(long ids, int scanned) {
+        idsDone += ids;
+        studentsScanned += scanned;
+    }
+
+    synchronized void assessed(Long courseId, int students, BigDecimal delta) {
+        studentsAssessed += students;
+        totalDelta = totalDelta.add(delta);
+        assessedByCourse.merge(courseId, (long) students, Long::sum);
+        deltaByCourse.merge(courseId, delta, BigDecimal::add);
+    }
+
+    synchronized void failed(String failure) {
+        failures.add(failure);
+    }
+
+    synchronized void finished() {
+        elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public String getRolloverId() {
+        return rolloverId;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * Width of the student ID range this run had to cover
+     */
+    public synchronized long getIdsTotal() {
+        return idsTotal;
+    }
+
+    public synchronized long getIdsDone() {
+        return idsDone;
+    }
+
+    public synchronized double getPercentDone() {
+        return idsTotal == 0 ? 100.0 : idsDone * 100.0 / idsTotal;
+    }
+
+    /**
+     * Active students in the courses that were read
+     */
+    public synchronized long getStudentsScanned() {
+        return studentsScanned;
+    }
+
+    /**
+     * Students whose balance was (or, in a dry run, would be) changed
+     */
+    public synchronized long getStudentsAssessed() {
+        return studentsAssessed;
+    }
+
+    public synchronized long getPreviouslyAssessed() {
+        return previouslyAssessed;
+    }
+
+    /**
+     * Sum of new balance minus old balance over the assessed students
+     */
+    public synchronized BigDecimal getTotalDelta() {
+        return totalDelta;
+    }
+
+    public synchronized Map<Long, Long> getAssessedByCourse() {
+        return new TreeMap<>(assessedByCourse);
+    }
+
+    public synchronized Map<Long, BigDecimal> getDeltaByCourse() {
+        return new TreeMap<>(deltaByCourse);
+    }
+
+    public synchronized List<String> getFailures() {
+        return Collections.unmodifiableList(new ArrayList<>(failures));
+    }
+
+    public synchronized boolean isComplete() {
+        return elapsedMillis >= 0 && failures.isEmpty();
+    }
+
+    /**
+     * Wall-clock time of the run, or so far while it is in progress
+     */
+    public synchronized long getElapsedMillis() {
+        return elapsedMillis >= 0 ? elapsedMillis : (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public synchronized double getStudentsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0.0 : studentsScanned * 1000.0 / elapsed;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("RolloverReport{rolloverId=%s, dryRun=%s, done=%.1f%%, studentsScanned=%d, " +
+                        "studentsAssessed=%d, previouslyAssessed=%d, totalDelta=%s, studentsPerSecond=%.0f, " +
+                        "failures=%d, elapsedMillis=%d}",
+                rolloverId, dryRun, getPercentDone(), studentsScanned, studentsAssessed, previouslyAssessed,
+                totalDelta, getStudentsPerSecond(), failures.size(), getElapsedMillis());
+    }
+}
@@ -0,0 +1,378 @@
+package com.bytexl.sms.rollover;
+
+import com.bytexl.sms.balance.BalanceSnapshot;
+import com.bytexl.sms.dao.CourseDAO;
+import com.bytexl.sms.dao.PaymentDAO;
+import com.bytexl.sms.dao.StudentDAO;
+import com.bytexl.sms.dao.TermRolloverDAO;
+import com.bytexl.sms.dto.StudentBalance;
+import com.bytexl.sms.model.Course;
+import com.bytexl.sms.outbox.OutboxWriter;
+import com.bytexl.sms.util.SqlLists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * TermRolloverService - Resets the balance of every active student in a set
+ * of courses to the course's current fee (term rollover fee assessment)
+ *
+ * The student ID range of the courses is split into rollover.parallelism
+ * partitions, each walked by its own worker in chunks of rollover.chunkSize
+ * IDs. A chunk is one transaction: lock the chunk's active students in the
+ * courses with a primary key range read, then per course one INSERT ... SELECT
+ * of ledger adjustments and one UPDATE of the balances (the same statements
+ * as enrollment), the outbox events, and the partition checkpoint. Students
+ * already at the fee are left alone, so assessing a student twice is a no-op.
+ *
+ * A rollover is named by the caller. Its partitions and checkpoints are kept
+ * in term_rollover_partitions; a partition whose chunk fails stops there
+ * while the others carry on, and running the same rollover again resumes
+ * every partition after its last committed chunk. Progress is logged every
+ * rollover.progressIntervalSeconds.
+ *
+ * A dry run reads the same chunks without locks or checkpoints and only
+ * reports how many students would change and by how much.
+ */
+@Service
+public class TermRolloverService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TermRolloverService.class);
+
+    private static final int MAX_ROLLOVER_ID_LENGTH = 64;
+    private static final int MAX_COURSE_IDS_LENGTH = 1000;
+
+    @Autowired
+    private TermRolloverDAO rolloverDAO;
+
+    @Autowired
+    private StudentDAO studentDAO;
+
+    @Autowired
+    private PaymentDAO paymentDAO;
+
+    @Autowired
+    private CourseDAO courseDAO;
+
+    @Autowired
+    private OutboxWriter outbox;
+
+    @Autowired
+    private BalanceSnapshot balanceSnapshot;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment env;
+
+    /**
+     * Runs with rollover.parallelism workers and rollover.chunkSize IDs per chunk
+     */
+    public RolloverReport run(String rolloverId, Collection<Long> courseIds, boolean dryRun) {
+        return run(rolloverId, courseIds, dryRun,
+                env.getProperty("rollover.parallelism", Integer.class, 4),
+                env.getProperty("rollover.chunkSize", Integer.class, 500));
+    }
+
+    public RolloverReport run(String rolloverId, Collection<Long> courseIds, boolean dryRun,
+                              int parallelism, int chunkSize) {
+        if (rolloverId == null || rolloverId.isEmpty() || rolloverId.length() > MAX_ROLLOVER_ID_LENGTH) {
+            throw new IllegalArgumentException("Rollover name must be 1 to " + MAX_ROLLOVER_ID_LENGTH + " characters");
+        }
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one course is required");
+        }
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        List<Long> courses = new ArrayList<>(new TreeSet<>(courseIds));
+        String courseList = courses.stream().map(String::valueOf).collect(Collectors.joining(","));
+        if (courseList.length() > MAX_COURSE_IDS_LENGTH) {
+            throw new IllegalArgumentException("Too many courses for one rollover");
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Map<Long, BigDecimal> fees = readOnly.execute(status -> findFees(courses));
+        Rollover rollover = new Rollover(rolloverId, courses, fees, dryRun,
+                Math.min(chunkSize, SqlLists.MAX_IN_LIST), new RolloverReport(rolloverId, dryRun));
+
+        // Not read-only: the ID range and checkpoints must come from the primary
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<RolloverPartition> partitions = dryRun
+                ? readOnly.execute(status -> plan(rollover, parallelism))
+                : transactionTemplate.execute(status -> startOrResume(rollover, courseList, parallelism));
+
+        long idsTotal = 0;
+        long previouslyAssessed = 0;
+        Queue<RolloverPartition> pending = new ConcurrentLinkedQueue<>();
+        for (RolloverPartition partition : partitions) {
+            previouslyAssessed += partition.getStudentsAssessed();
+            if (!partition.isDone()) {
+                idsTotal += partition.getEndStudentId() - partition.getNextStudentId();
+                pending.add(partition);
+            }
+        }
+        RolloverReport report = rollover.report;
+        report.started(idsTotal, previouslyAssessed);
+        logger.info("Rollover {} {} for courses {}: {} partitions left, {} IDs",
+                rolloverId, dryRun ? "dry run" : "started", courseList, pending.size(), idsTotal);
+
+        Thread[] workers = new Thread[Math.max(1, Math.min(parallelism, pending.size()))];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(() -> drain(pending, rollover), "rollover-worker-" + i);
+            workers[i].start();
+        }
+        awaitWorkers(workers, report);
+
+        if (!dryRun && report.getFailures().isEmpty() && !Thread.currentThread().isInterrupted()) {
+            transactionTemplate.execute(status -> rolloverDAO.finish(rolloverId));
+        }
+        report.finished();
+        logger.info("Rollover {} finished: {}", rolloverId, report);
+        return report;
+    }
+
+    private Map<Long, BigDecimal> findFees(List<Long> courseIds) {
+        Map<Long, BigDecimal> fees = new LinkedHashMap<>();
+        for (Long courseId : courseIds) {
+            Course course = courseDAO.findById(courseId);
+            if (course == null) {
+                throw new IllegalArgumentException("Course not found with ID: " + courseId);
+            }
+            fees.put(courseId, course.getFee() == null ? BigDecimal.ZERO : course.getFee());
+        }
+        return fees;
+    }
+
+    /**
+     * Partitions of the courses' current student ID range, none if they have no active students
+     */
+    private List<RolloverPartition> plan(Rollover rollover, int parallelism) {
+        long[] range = rolloverDAO.findIdRange(rollover.courseIds);
+        if (range == null) {
+            return new ArrayList<>();
+        }
+        return RolloverPartition.split(range[0], range[1] + 1, parallelism);
+    }
+
+    /**
+     * Records a new rollover, or loads the checkpoints of an earlier run of it.
+     * An earlier run keeps its partitions, whatever the parallelism now.
+     */
+    private List<RolloverPartition> startOrResume(Rollover rollover, String courseList, int parallelism) {
+        String startedWith = rolloverDAO.findCourseIds(rollover.rolloverId);
+        if (startedWith == null) {
+            List<RolloverPartition> partitions = plan(rollover, parallelism);
+            rolloverDAO.insert(rollover.rolloverId, courseList, partitions);
+            return partitions;
+        }
+        if (!startedWith.equals(courseList)) {
+            throw new IllegalArgumentException("Rollover " + rollover.rolloverId
+                    + " was started for courses " + startedWith + ", not " + courseList);
+        }
+        return rolloverDAO.findPartitions(rollover.rolloverId);
+    }
+
+    /**
+     * Waits for the workers, logging progress every rollover.progressIntervalSeconds
+     */
+    private void awaitWorkers(Thread[] workers, RolloverReport report) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(
+                Math.max(1, env.getProperty("rollover.progressIntervalSeconds", Integer.class, 5)));
+        long nextReport = System.nanoTime() + intervalNanos;
+        try {
+            for (Thread worker : workers) {
+                while (worker.isAlive()) {
+                    worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextReport - System.nanoTime())));
+                    if (System.nanoTime() - nextReport >= 0) {
+                        logger.info("Rollover {}: {}% of IDs, {} students read, {} assessed, {} students/s",
+                                report.getRolloverId(), String.format("%.1f", report.getPercentDone()),
+                                report.getStudentsScanned(), report.getStudentsAssessed(),
+                                String.format("%.0f", report.getStudentsPerSecond()));
+                        nextReport += intervalNanos;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            report.failed("Interrupted");
+        }
+    }
+
+    /**
+     * Takes partitions until none are left; a failing chunk ends its partition
+     */
+    private void drain(Queue<RolloverPartition> pending, Rollover rollover) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(rollover.dryRun);
+        RolloverPartition partition;
+        while ((partition = pending.poll()) != null) {
+            int partitionNo = partition.getPartitionNo();
+            long next = partition.getNextStudentId();
+            long end = partition.getEndStudentId();
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long from = next;
+                    Chunk chunk = transactionTemplate.execute(status -> rollover.dryRun
+                            ? assess(rollover, from, end)
+                            : apply(rollover, partitionNo));
+                    if (chunk == null) {
+                        break;
+                    }
+                    rollover.record(chunk);
+                    next = chunk.toId;
+                }
+            } catch (RuntimeException e) {
+                String failure = "Partition " + partitionNo + " stopped at student ID " + next + ": "
+                        + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                logger.error("Rollover {}: {}", rollover.rolloverId, failure, e);
+                rollover.report.failed(failure);
+            }
+        }
+    }
+
+    /**
+     * Applies the partition's next chunk from its locked checkpoint; null once it is done
+     */
+    private Chunk apply(Rollover rollover, int partitionNo) {
+        RolloverPartition checkpoint = rolloverDAO.lockPartition(rollover.rolloverId, partitionNo);
+        if (checkpoint.isDone()) {
+            return null;
+        }
+        long from = checkpoint.getNextStudentId();
+        long to = Math.min(from + rollover.chunkSize, checkpoint.getEndStudentId());
+        List<StudentBalance> students = rolloverDAO.findInRange(from, to, rollover.courseIds, true);
+        Chunk chunk = new Chunk(from, to, students.size());
+
+        for (Map.Entry<Long, List<StudentBalance>> course : changedByCourse(rollover, students, chunk).entrySet()) {
+            Long courseId = course.getKey();
+            BigDecimal fee = rollover.fees.get(courseId);
+            List<Long> studentIds = course.getValue().stream()
+                    .map(StudentBalance::getStudentId)
+                    .collect(Collectors.toList());
+            paymentDAO.insertAdjustmentsTo(studentIds, fee);
+            studentDAO.assignCourse(studentIds, courseId, fee);
+            outbox.feesAssessed(courseId, fee, course.getValue());
+            balanceSnapshot.balancesChanged(studentIds, fee);
+        }
+        rolloverDAO.advance(rollover.rolloverId, partitionNo, to, chunk.assessed());
+        return chunk;
+    }
+
+    /**
+     * Dry run: what the chunk from fromId would change, without locking or writing
+     */
+    private Chunk assess(Rollover rollover, long fromId, long endId) {
+        if (fromId >= endId) {
+            return null;
+        }
+        long to = Math.min(fromId + rollover.chunkSize, endId);
+        List<StudentBalance> students = rolloverDAO.findInRange(fromId, to, rollover.courseIds, false);
+        Chunk chunk = new Chunk(fromId, to, students.size());
+        changedByCourse(rollover, students, chunk);
+        return chunk;
+    }
+
+    /**
+     * Students whose balance differs from their course's fee, grouped by
+     * course; their counts and deltas are added to the chunk
+     */
+    private static Map<Long, List<StudentBalance>> changedByCourse(Rollover rollover, List<StudentBalance> students,
+                                                                   Chunk chunk) {
+        Map<Long, List<StudentBalance>> changed = new LinkedHashMap<>();
+        for (StudentBalance student : students) {
+            BigDecimal fee = rollover.fees.get(student.getCourseId());
+            BigDecimal balance = student.getBalance() == null ? BigDecimal.ZERO : student.getBalance();
+            if (student.getBalance() != null && balance.compareTo(fee) == 0) {
+                continue;
+            }
+            changed.computeIfAbsent(student.getCourseId(), k -> new ArrayList<>()).add(student);
+            chunk.add(student.getCourseId(), fee.subtract(balance));
+        }
+        return changed;
+    }
+
+    /**
+     * One rollover run's fixed inputs and its report
+     */
+    private static final class Rollover {
+        final String rolloverId;
+        final List<Long> courseIds;
+        final Map<Long, BigDecimal> fees;
+        final boolean dryRun;
+        final int chunkSize;
+        final RolloverReport report;
+
+        Rollover(String rolloverId, List<Long> courseIds, Map<Long, BigDecimal> fees, boolean dryRun,
+                 int chunkSize, RolloverReport report) {
+            this.rolloverId = rolloverId;
+            this.courseIds = courseIds;
+            this.fees = fees;
+            this.dryRun = dryRun;
+            this.chunkSize = chunkSize;
+            this.report = report;
+        }
+
+        /**
+         * Adds a committed (or, in a dry run, assessed) chunk to the report
+         */
+        void record(Chunk chunk) {
+            report.chunkDone(chunk.toId - chunk.fromId, chunk.scanned);
+            for (Map.Entry<Long, BigDecimal> course : chunk.deltaByCourse.entrySet()) {
+                report.assessed(course.getKey(), chunk.countByCourse.get(course.getKey()), course.getValue());
+            }
+        }
+    }
+
+    /**
+     * What one chunk read and changed
+     */
+    private static final class Chunk {
+        final long fromId;
+        final long toId;
+        final int scanned;
+        final Map<Long, Integer> countByCourse = new LinkedHashMap<>();
+        final Map<Long, BigDecimal> deltaByCourse = new LinkedHashMap<>();
+
+        Chunk(long fromId, long toId, int scanned) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.scanned = scanned;
+        }
+
+        void add(Long courseId, BigDecimal delta) {
+            countByCourse.merge(courseId, 1, Integer::sum);
+            deltaByCourse.merge(courseId, delta, BigDecimal::add);
+        }
+
+        int assessed() {
+            int assessed = 0;
+            for (int count : countByCourse.values()) {
+                assessed += count;
+            }
+            return assessed;
+        }
+    }
+}
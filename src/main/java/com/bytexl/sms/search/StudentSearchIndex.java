@@ -0,0 +1,384 @@
+package com.bytexl.sms.search;
+
+import com.bytexl.sms.config.FastStartConfig;
+import com.bytexl.sms.dao.StudentDAO;
+import com.bytexl.sms.dto.StudentMatch;
+import com.bytexl.sms.model.Student;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * StudentSearchIndex - In-memory substring search over student name, email and phone
+ *
+ * Every student gets a slot holding its normalized text (lower-case name,
+ * email and phone digits). Queries of three or more characters use a
+ * trigram inverted index: the shortest posting list among the query's
+ * trigrams gives the candidates, which are then checked with a substring
+ * match. Shorter queries use a prefix map over name words, email and phone.
+ *
+ * Updates replace a student's slot; old slots are skipped until enough have
+ * piled up to rebuild. The index is loaded in the background at startup and
+ * reports isReady() = false until then, so callers can fall back to the database.
+ * Under the fast-start profile the index is never loaded or updated and
+ * stays not ready, so short batch runs skip the full students scan.
+ */
+@Component
+public class StudentSearchIndex implements InitializingBean, SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    private static final int WARMUP_FETCH_SIZE = 1000;
+    private static final int MIN_DEAD_SLOTS_TO_COMPACT = 10_000;
+    private static final char FIELD_SEPARATOR = '\n';
+
+    @Autowired
+    private StudentDAO studentDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment env;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<Long, IntList> trigrams = new HashMap<>();
+    private final TreeMap<String, IntList> tokens = new TreeMap<>();
+    private final Set<Long> removedDuringWarmup = new HashSet<>();
+    private StudentMatch[] students = new StudentMatch[1024];
+    private String[] texts = new String[1024];
+    private int slotCount;
+    private int deadSlots;
+
+    private boolean disabled;
+    private volatile boolean ready;
+    private volatile boolean closed;
+    private Thread warmupThread;
+
+    @Override
+    public void afterPropertiesSet() {
+        disabled = FastStartConfig.isActive(env);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (disabled) {
+            return;
+        }
+        warmupThread = new Thread(this::warmUp, "student-search-warmup");
+        warmupThread.setDaemon(true);
+        warmupThread.start();
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.execute(status -> studentDAO.forEach(WARMUP_FETCH_SIZE, true, this::load));
+        } catch (CancellationException e) {
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Student search index could not be loaded, searches will use the database", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removedDuringWarmup.clear();
+            ready = true;
+            logger.info("Student search index loaded {} students in {} ms",
+                    slotsById.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a row read by the warm-up scan, unless the student was added,
+     * updated or deleted since the scan started
+     */
+    private void load(Student student) {
+        if (closed) {
+            throw new CancellationException("Search index closed");
+        }
+        lock.writeLock().lock();
+        try {
+            Long id = student.getStudentId();
+            if (!slotsById.containsKey(id) && !removedDuringWarmup.contains(id)) {
+                add(toMatch(student));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the student or replaces its previous entry
+     */
+    public void put(Student student) {
+        if (disabled) {
+            return;
+        }
+        StudentMatch match = toMatch(student);
+        lock.writeLock().lock();
+        try {
+            removeSlot(match.getStudentId());
+            add(match);
+            compactIfMostlyDead();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long studentId) {
+        if (disabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeSlot(studentId);
+            if (!ready) {
+                removedDuringWarmup.add(studentId);
+            }
+            compactIfMostlyDead();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Students whose name, email or phone contains the query (case-insensitive;
+     * for phone-like queries only the digits are compared). Returns at most
+     * limit matches, in no particular order.
+     */
+    public List<StudentMatch> search(String query, int limit) {
+        String needle = normalizeQuery(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            return needle.length() >= 3 ? searchTrigrams(needle, limit) : searchPrefix(needle, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<StudentMatch> searchTrigrams(String needle, int limit) {
+        IntList candidates = null;
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            IntList postings = trigrams.get(trigram(needle, i));
+            if (postings == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null || postings.size < candidates.size) {
+                candidates = postings;
+            }
+        }
+
+        List<StudentMatch> matches = new ArrayList<>();
+        for (int i = 0; i < candidates.size && matches.size() < limit; i++) {
+            int slot = candidates.values[i];
+            if (students[slot] != null && texts[slot].contains(needle)) {
+                matches.add(students[slot]);
+            }
+        }
+        return matches;
+    }
+
+    private List<StudentMatch> searchPrefix(String needle, int limit) {
+        Set<Integer> slots = new LinkedHashSet<>();
+        NavigableMap<String, IntList> range = tokens.subMap(needle, true, needle + Character.MAX_VALUE, false);
+        for (IntList postings : range.values()) {
+            for (int i = 0; i < postings.size && slots.size() < limit; i++) {
+                int slot = postings.values[i];
+                if (students[slot] != null) {
+                    slots.add(slot);
+                }
+            }
+            if (slots.size() >= limit) {
+                break;
+            }
+        }
+
+        List<StudentMatch> matches = new ArrayList<>(slots.size());
+        for (int slot : slots) {
+            matches.add(students[slot]);
+        }
+        return matches;
+    }
+
+    private void add(StudentMatch match) {
+        if (slotCount == students.length) {
+            students = Arrays.copyOf(students, slotCount * 2);
+            texts = Arrays.copyOf(texts, slotCount * 2);
+        }
+        int slot = slotCount++;
+        String name = lower(match.getName());
+        String email = lower(match.getEmail());
+        String phone = digits(match.getPhone());
+        String text = name + FIELD_SEPARATOR + email + FIELD_SEPARATOR + phone;
+        students[slot] = match;
+        texts[slot] = text;
+        slotsById.put(match.getStudentId(), slot);
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long key = trigram(text, i);
+            if (seen.add(key)) {
+                trigrams.computeIfAbsent(key, k -> new IntList()).add(slot);
+            }
+        }
+
+        Set<String> words = new HashSet<>(Arrays.asList(name.split("\\s+")));
+        words.add(email);
+        words.add(phone);
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                tokens.computeIfAbsent(word, k -> new IntList()).add(slot);
+            }
+        }
+    }
+
+    private void removeSlot(Long studentId) {
+        Integer slot = slotsById.remove(studentId);
+        if (slot != null) {
+            students[slot] = null;
+            texts[slot] = null;
+            deadSlots++;
+        }
+    }
+
+    /**
+     * Compacts once dead slots outnumber live ones. Updates leave a dead slot
+     * just like removals, so both check.
+     */
+    private void compactIfMostlyDead() {
+        if (deadSlots >= MIN_DEAD_SLOTS_TO_COMPACT && deadSlots > slotsById.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Rebuilds all structures from the live slots
+     */
+    private void compact() {
+        List<StudentMatch> live = new ArrayList<>(slotsById.size());
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (students[slot] != null) {
+                live.add(students[slot]);
+            }
+        }
+        slotsById.clear();
+        trigrams.clear();
+        tokens.clear();
+        students = new StudentMatch[Math.max(1024, live.size() * 2)];
+        texts = new String[students.length];
+        slotCount = 0;
+        deadSlots = 0;
+        for (StudentMatch match : live) {
+            add(match);
+        }
+    }
+
+    private static StudentMatch toMatch(Student student) {
+        return new StudentMatch(student.getStudentId(), student.getName(), student.getEmail(), student.getPhone());
+    }
+
+    /**
+     * Lower-cases the query; queries made only of phone punctuation and
+     * digits are reduced to their digits
+     */
+    private static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String trimmed = query.trim();
+        if (!trimmed.isEmpty() && trimmed.matches("[0-9+()\\-. ]+") && trimmed.matches(".*[0-9].*")) {
+            return digits(trimmed);
+        }
+        return lower(trimmed);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    /**
+     * Growable int array for posting lists
+     */
+    private static class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.balance.BalanceSnapshot;
+import com.bytexl.sms.dao.ArchiveDAO;
+import com.bytexl.sms.dao.PaymentRequestDAO;
+import com.bytexl.sms.util.SqlLists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArchivalService - Moves long-inactive students out of the hot tables
+ *
+ * GRADUATED and DELETED students whose status changed more than
+ * archive.afterDays ago are moved, with their payments, to students_archive
+ * and payments_archive. Each batch of archive.batchSize students is one
+ * short transaction, so the job never holds many locks or a long undo log.
+ *
+ * With archive.enabled=true the job runs every archive.intervalMinutes on a
+ * background thread; archiveInactiveBefore can also be called directly.
+ * Each run also forgets payment request IDs older than
+ * payments.requests.retentionDays, after which a retry counts as new.
+ */
+@Service
+public class ArchivalService implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivalService.class);
+
+    @Autowired
+    private ArchiveDAO archiveDAO;
+
+    @Autowired
+    private PaymentRequestDAO paymentRequestDAO;
+
+    @Autowired
+    private BalanceSnapshot balanceSnapshot;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment env;
+
+    private TransactionTemplate transactionTemplate;
+    private int batchSize;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        batchSize = Math.min(env.getProperty("archive.batchSize", Integer.class, 500), SqlLists.MAX_IN_LIST);
+        if (!env.getProperty("archive.enabled", Boolean.class, false)) {
+            return;
+        }
+
+        long afterDays = env.getProperty("archive.afterDays", Long.class, 365L);
+        long intervalMinutes = env.getProperty("archive.intervalMinutes", Long.class, 60L);
+        long requestRetentionDays = env.getProperty("payments.requests.retentionDays", Long.class, 30L);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archiveInactiveBefore(LocalDateTime.now().minusDays(afterDays));
+                purgePaymentRequestsBefore(LocalDateTime.now().minusDays(requestRetentionDays));
+            } catch (RuntimeException e) {
+                logger.warn("Student archival run failed", e);
+            }
+        }, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Archives, batch by batch, every GRADUATED or DELETED student whose
+     * status changed before cutoff. Returns the number of students archived.
+     */
+    public long archiveInactiveBefore(LocalDateTime cutoff) {
+        long start = System.currentTimeMillis();
+        long archived = 0;
+        while (!closed) {
+            int moved = transactionTemplate.execute(status -> {
+                List<Long> studentIds = archiveDAO.lockArchivable(cutoff, batchSize);
+                if (studentIds.isEmpty()) {
+                    return 0;
+                }
+                balanceSnapshot.invalidateAll(studentIds);
+                return archiveDAO.moveToArchive(studentIds);
+            });
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            logger.info("Archived {} inactive students in {} ms", archived, System.currentTimeMillis() - start);
+        }
+        return archived;
+    }
+
+    /**
+     * Deletes payment request IDs recorded before cutoff. Returns the number deleted.
+     */
+    public int purgePaymentRequestsBefore(LocalDateTime cutoff) {
+        int purged = transactionTemplate.execute(status -> paymentRequestDAO.deleteOlderThan(cutoff));
+        if (purged > 0) {
+            logger.info("Purged {} payment request IDs recorded before {}", purged, cutoff);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,262 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.dto.PaymentReceipt;
+import com.bytexl.sms.model.PaymentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncPaymentProcessor - Queued payments and refunds, answered with a future receipt
+ *
+ * Submissions are partitioned by student ID; each partition has a bounded
+ * queue and a single worker, so payments for one student are applied in
+ * submission order while different students proceed in parallel. A worker
+ * takes everything waiting in its queue (up to payments.async.groupSize)
+ * and applies it in one transaction, so a burst shares one commit. If that
+ * transaction fails, the group is replayed one payment per transaction and
+ * only the failing payments complete exceptionally.
+ *
+ * Workers are virtual threads on Java 21+ and platform threads otherwise.
+ * A full partition queue rejects the submission with RejectedExecutionException.
+ */
+@Component
+public class AsyncPaymentProcessor implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncPaymentProcessor.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment env;
+
+    private BlockingQueue<Task>[] queues;
+    private Thread[] workers;
+    private int groupSize;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterPropertiesSet() {
+        int partitions = env.getProperty("payments.async.partitions", Integer.class, 8);
+        int capacity = env.getProperty("payments.async.queueCapacity", Integer.class, 1000);
+        groupSize = env.getProperty("payments.async.groupSize", Integer.class, 50);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        running = true;
+        queues = new BlockingQueue[partitions];
+        workers = new Thread[partitions];
+        for (int i = 0; i < partitions; i++) {
+            BlockingQueue<Task> queue = new ArrayBlockingQueue<>(capacity);
+            queues[i] = queue;
+            workers[i] = newWorker("payment-worker-" + i, () -> workLoop(queue));
+            workers[i].start();
+        }
+        logger.info("Async payments: {} partitions of {} ({} threads)", partitions, capacity,
+                workers[0].getClass().getName().equals("java.lang.VirtualThread") ? "virtual" : "platform");
+    }
+
+    /**
+     * Queues a payment. Fails fast with RejectedExecutionException when the
+     * student's partition is full.
+     */
+    public CompletableFuture<PaymentReceipt> submitPayment(Long studentId, BigDecimal amount) {
+        return submit(new Task(null, studentId, PaymentType.PAYMENT, amount), 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a payment, waiting up to timeout for room in the student's partition
+     */
+    public CompletableFuture<PaymentReceipt> submitPayment(Long studentId, BigDecimal amount,
+                                                           long timeout, TimeUnit unit) {
+        return submit(new Task(null, studentId, PaymentType.PAYMENT, amount), timeout, unit);
+    }
+
+    public CompletableFuture<PaymentReceipt> submitRefund(Long studentId, BigDecimal amount) {
+        return submit(new Task(null, studentId, PaymentType.REFUND, amount), 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues an idempotent payment: resubmitting the same requestId, even
+     * while the first is still queued, applies it only once
+     */
+    public CompletableFuture<PaymentReceipt> submitPayment(String requestId, Long studentId, BigDecimal amount) {
+        return submit(new Task(requestId, studentId, PaymentType.PAYMENT, amount), 0, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<PaymentReceipt> submitRefund(String requestId, Long studentId, BigDecimal amount) {
+        return submit(new Task(requestId, studentId, PaymentType.REFUND, amount), 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Payments waiting in all partitions
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (BlockingQueue<Task> queue : queues) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    private CompletableFuture<PaymentReceipt> submit(Task task, long timeout, TimeUnit unit) {
+        if (task.studentId == null) {
+            throw new IllegalArgumentException("Student ID is required");
+        }
+        if (task.amount == null || task.amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (!running) {
+            throw new RejectedExecutionException("Payment processor is shut down");
+        }
+
+        BlockingQueue<Task> queue = queues[Math.floorMod(Long.hashCode(task.studentId), queues.length)];
+        boolean queued;
+        try {
+            queued = timeout > 0 ? queue.offer(task, timeout, unit) : queue.offer(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+        }
+        if (!queued) {
+            throw new RejectedExecutionException("Payment queue full for student ID: " + task.studentId);
+        }
+        return task.future;
+    }
+
+    private void workLoop(BlockingQueue<Task> queue) {
+        List<Task> group = new ArrayList<>(groupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Task first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, groupSize - 1);
+                process(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                group.clear();
+            }
+        }
+
+        Task left;
+        while ((left = queue.poll()) != null) {
+            left.future.completeExceptionally(new CancellationException("Payment processor shut down"));
+        }
+    }
+
+    private void process(List<Task> group) {
+        if (group.size() > 1) {
+            try {
+                List<PaymentReceipt> receipts = transactionTemplate.execute(status -> {
+                    List<PaymentReceipt> applied = new ArrayList<>(group.size());
+                    for (Task task : group) {
+                        applied.add(apply(task));
+                    }
+                    return applied;
+                });
+                for (int i = 0; i < group.size(); i++) {
+                    group.get(i).future.complete(receipts.get(i));
+                }
+                return;
+            } catch (RuntimeException e) {
+                logger.debug("Payment group of {} failed, applying one by one", group.size(), e);
+            }
+        }
+
+        for (Task task : group) {
+            try {
+                task.future.complete(transactionTemplate.execute(status -> apply(task)));
+            } catch (RuntimeException e) {
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private PaymentReceipt apply(Task task) {
+        if (task.requestId != null) {
+            return task.type == PaymentType.PAYMENT
+                    ? feeService.processPayment(task.requestId, task.studentId, task.amount)
+                    : feeService.processRefund(task.requestId, task.studentId, task.amount);
+        }
+        BigDecimal newBalance = task.type == PaymentType.PAYMENT
+                ? feeService.processPayment(task.studentId, task.amount)
+                : feeService.processRefund(task.studentId, task.amount);
+        return new PaymentReceipt(task.studentId, task.type, task.amount, newBalance, LocalDateTime.now());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            if (worker.isAlive()) {
+                logger.warn("{} did not finish within {} ms", worker.getName(), SHUTDOWN_TIMEOUT_MS);
+            }
+        }
+    }
+
+    /**
+     * Creates an unstarted virtual thread when the runtime has them (Java 21+),
+     * otherwise a daemon platform thread
+     */
+    private static Thread newWorker(String name, Runnable body) {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderType.getMethod("name", String.class).invoke(builder, name);
+            return (Thread) builderType.getMethod("unstarted", Runnable.class).invoke(builder, body);
+        } catch (ReflectiveOperationException e) {
+            Thread thread = new Thread(body, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static final class Task {
+
+        private final String requestId;
+        private final Long studentId;
+        private final PaymentType type;
+        private final BigDecimal amount;
+        private final CompletableFuture<PaymentReceipt> future = new CompletableFuture<>();
+
+        Task(String requestId, Long studentId, PaymentType type, BigDecimal amount) {
+            this.requestId = requestId;
+            this.studentId = studentId;
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.dto.CacheRegionStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CacheStatisticsService - Exposes second-level cache hit/miss statistics
+ * Requires hibernate.generate_statistics=true
+ */
+@Service
+public class CacheStatisticsService {
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    public List<CacheRegionStats> getRegionStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStats> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                // JCache providers do not report region size; Hibernate returns Long.MIN_VALUE then
+                long size = Math.max(regionStats.getElementCountInMemory(), -1);
+                result.add(new CacheRegionStats(region, regionStats.getHitCount(),
+                        regionStats.getMissCount(), regionStats.getPutCount(), size));
+            }
+        }
+        return result;
+    }
+
+    public long getQueryCacheHitCount() {
+        return sessionFactory.getStatistics().getQueryCacheHitCount();
+    }
+
+    public long getQueryCacheMissCount() {
+        return sessionFactory.getStatistics().getQueryCacheMissCount();
+    }
+
+    public void clearStatistics() {
+        sessionFactory.getStatistics().clear();
+    }
+}
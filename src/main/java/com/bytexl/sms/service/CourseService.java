@@ -0,0 +1,54 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.dao.CourseDAO;
+import com.bytexl.sms.model.Course;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * CourseService - Service layer for Course operations
+ */
+@Service
+@Transactional
+public class CourseService {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @Autowired
+    private CourseDAO courseDAO;
+
+    public void addCourse(Course course) {
+        courseDAO.save(course);
+    }
+
+    /**
+     * Adds all courses in one transaction through a StatelessSession.
+     * Returns the number of courses added.
+     */
+    public int addCourses(Iterable<Course> courses) {
+        return courseDAO.insertAll(courses);
+    }
+
+    @Transactional(readOnly = true)
+    public Course getCourseById(Long courseId) {
+        return courseDAO.findById(courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Course> getAllCourses() {
+        return courseDAO.findAll();
+    }
+
+    /**
+     * Streams all courses through the action with constant memory.
+     * Returns the number of courses visited.
+     */
+    @Transactional(readOnly = true)
+    public long forEachCourse(Consumer<Course> action) {
+        return courseDAO.forEach(STREAM_FETCH_SIZE, action);
+    }
+}
@@ -1,14 +1,24 @@
 package com.bytexl.sms.service;
 
+import com.bytexl.sms.balance.BalanceSnapshot;
+import com.bytexl.sms.dao.PaymentRequestDAO;
 import com.bytexl.sms.dao.StudentDAO;
+import com.bytexl.sms.dto.PaymentReceipt;
+import com.bytexl.sms.model.PaymentType;
 import com.bytexl.sms.model.Student;
+import com.bytexl.sms.outbox.OutboxEvent;
+import com.bytexl.sms.outbox.OutboxWriter;
+import com.bytexl.sms.util.TransactionCallbacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
 
 /**
  * FeeService - Service layer for Fee Payment and Refund operations
@@ -20,68 +30,174 @@ public class FeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(FeeService.class);
 
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
     @Autowired
     private StudentDAO studentDAO;
 
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private OutboxWriter outbox;
+
+    @Autowired
+    private BalanceSnapshot balanceSnapshot;
+
+    @Autowired
+    private PaymentRequestDAO paymentRequestDAO;
+
+    @Autowired
+    private RecentPaymentRequests recentRequests;
+
     /**
      * Process fee payment for a student
-     * Transaction will rollback if any exception occurs
+     * The balance is read with SELECT ... FOR UPDATE, so concurrent payments
+     * for the same student queue on the row lock; the new balance is computed
+     * here rather than read back after the UPDATE. Transaction will rollback
+     * if any exception occurs
+     * Returns the balance after the payment.
      */
     @Transactional
-    public void processPayment(Long studentId, BigDecimal amount) {
+    public BigDecimal processPayment(Long studentId, BigDecimal amount) {
         logger.info("Processing payment of {} for student ID: {}", amount, studentId);
-        
-        Student student = studentDAO.findById(studentId);
-        if (student == null) {
-            throw new RuntimeException("Student not found with ID: " + studentId);
-        }
 
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Payment amount must be positive");
         }
 
-        // Deduct amount from balance
-        BigDecimal newBalance = student.getBalance().subtract(amount);
-        if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new RuntimeException("Insufficient balance. Current balance: " + student.getBalance());
+        BigDecimal currentBalance = studentDAO.findBalanceForUpdate(studentId);
+        if (currentBalance == null) {
+            throw new RuntimeException("Student not found with ID: " + studentId);
+        }
+        // Deduct amount from balance only if it covers the payment
+        if (currentBalance.compareTo(amount) < 0 || studentDAO.debitBalance(studentId, amount) == 0) {
+            throw new RuntimeException("Insufficient balance. Current balance: " + currentBalance);
         }
+        paymentLedger.record(studentId, PaymentType.PAYMENT, amount);
 
-        student.setBalance(newBalance);
-        studentDAO.update(student);
-        
+        BigDecimal newBalance = rounded(currentBalance.subtract(amount), currentBalance);
+        outbox.balanceChanged(studentId, OutboxEvent.PAYMENT_RECORDED, amount, newBalance);
+        balanceSnapshot.balanceChanged(studentId, newBalance);
         logger.info("Payment processed successfully. New balance: {}", newBalance);
+        return newBalance;
     }
 
     /**
      * Process refund for a student
-     * Transaction will rollback if any exception occurs
+     * Locks the row like processPayment. Transaction will rollback if any
+     * exception occurs
+     * Returns the balance after the refund.
      */
     @Transactional
-    public void processRefund(Long studentId, BigDecimal amount) {
+    public BigDecimal processRefund(Long studentId, BigDecimal amount) {
         logger.info("Processing refund of {} for student ID: {}", amount, studentId);
-        
-        Student student = studentDAO.findById(studentId);
-        if (student == null) {
-            throw new RuntimeException("Student not found with ID: " + studentId);
-        }
 
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Refund amount must be positive");
         }
 
+        BigDecimal currentBalance = studentDAO.findBalanceForUpdate(studentId);
         // Add amount to balance
-        BigDecimal newBalance = student.getBalance().add(amount);
-        student.setBalance(newBalance);
-        studentDAO.update(student);
-        
+        if (currentBalance == null || studentDAO.creditBalance(studentId, amount) == 0) {
+            throw new RuntimeException("Student not found with ID: " + studentId);
+        }
+        paymentLedger.record(studentId, PaymentType.REFUND, amount);
+
+        BigDecimal newBalance = rounded(currentBalance.add(amount), currentBalance);
+        outbox.balanceChanged(studentId, OutboxEvent.REFUND_RECORDED, amount, newBalance);
+        balanceSnapshot.balanceChanged(studentId, newBalance);
         logger.info("Refund processed successfully. New balance: {}", newBalance);
+        return newBalance;
+    }
+
+    /**
+     * The balance as the column stores it, at the scale of the value read
+     */
+    private static BigDecimal rounded(BigDecimal balance, BigDecimal read) {
+        return balance.setScale(read.scale(), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Idempotent payment - applies the payment once per requestId, however
+     * often it is retried or resubmitted in parallel. A repeat returns the
+     * original receipt with the student's current balance; reusing a
+     * requestId for a different student, type or amount is rejected.
+     * Recently committed IDs are answered from memory; otherwise the
+     * request row's primary key is the check, so a new request costs no
+     * extra round trip.
+     */
+    @Transactional
+    public PaymentReceipt processPayment(String requestId, Long studentId, BigDecimal amount) {
+        return applyOnce(requestId, studentId, PaymentType.PAYMENT, amount);
+    }
+
+    /**
+     * Idempotent refund, see processPayment(String, Long, BigDecimal)
+     */
+    @Transactional
+    public PaymentReceipt processRefund(String requestId, Long studentId, BigDecimal amount) {
+        return applyOnce(requestId, studentId, PaymentType.REFUND, amount);
+    }
+
+    private PaymentReceipt applyOnce(String requestId, Long studentId, PaymentType type, BigDecimal amount) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+            throw new IllegalArgumentException("Request ID must be 1 to " + MAX_REQUEST_ID_LENGTH + " characters");
+        }
+
+        PaymentReceipt recent = recentRequests.get(requestId);
+        if (recent != null) {
+            return replay(requestId, recent, studentId, type, amount);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!paymentRequestDAO.insert(requestId, studentId, type, amount, now)) {
+            PaymentReceipt original = paymentRequestDAO.find(requestId);
+            if (original == null) {
+                throw new RuntimeException("Payment request " + requestId + " could not be recorded or found");
+            }
+            recentRequests.put(requestId, original);
+            return replay(requestId, original, studentId, type, amount);
+        }
+
+        // Runs in this transaction, so a failure also removes the request row
+        BigDecimal newBalance = type == PaymentType.PAYMENT
+                ? processPayment(studentId, amount)
+                : processRefund(studentId, amount);
+        PaymentReceipt receipt = new PaymentReceipt(studentId, type, amount, newBalance, now);
+        TransactionCallbacks.afterCommit(() -> recentRequests.put(requestId, receipt));
+        return receipt;
+    }
+
+    private PaymentReceipt replay(String requestId, PaymentReceipt original,
+                                  Long studentId, PaymentType type, BigDecimal amount) {
+        if (!original.getStudentId().equals(studentId) || original.getPaymentType() != type
+                || original.getAmount().compareTo(amount) != 0) {
+            throw new IllegalArgumentException("Request ID " + requestId + " was already used for "
+                    + original.getPaymentType() + " of " + original.getAmount()
+                    + " for student ID: " + original.getStudentId());
+        }
+        logger.info("Duplicate {} request {} for student ID: {} ignored", type, requestId, studentId);
+
+        BigDecimal balance = balanceSnapshot.get(studentId);
+        if (balance == null) {
+            balance = studentDAO.findBalance(studentId);
+        }
+        return new PaymentReceipt(studentId, type, original.getAmount(), balance, original.getProcessedAt());
     }
 
     /**
      * Get current balance for a student
+     * Served from the balance snapshot when enabled; SUPPORTS means that path
+     * opens no transaction and takes no connection. Otherwise, or on a miss,
+     * the student is loaded from the database.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getBalance(Long studentId) {
+        BigDecimal balance = balanceSnapshot.get(studentId);
+        if (balance != null) {
+            return balance;
+        }
         Student student = studentDAO.findById(studentId);
         if (student == null) {
             throw new RuntimeException("Student not found with ID: " + studentId);
@@ -0,0 +1,53 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.dao.PaymentDAO;
+import com.bytexl.sms.dto.BalanceDiscrepancy;
+import com.bytexl.sms.model.Payment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * LedgerService - Service layer for the append-only payment ledger
+ * Entries are written by PaymentLedger in the transaction of each balance
+ * change; reads derive balances from the ledger and reconcile them against
+ * students.balance.
+ */
+@Service
+@Transactional
+public class LedgerService {
+
+    @Autowired
+    private PaymentDAO paymentDAO;
+
+    @Transactional(readOnly = true)
+    public List<Payment> getPaymentHistory(Long studentId) {
+        return paymentDAO.findByStudent(studentId);
+    }
+
+    /**
+     * Balance derived from the ledger alone
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getLedgerBalance(Long studentId) {
+        return paymentDAO.ledgerBalance(studentId);
+    }
+
+    /**
+     * Students whose stored balance disagrees with the ledger
+     */
+    @Transactional(readOnly = true)
+    public List<BalanceDiscrepancy> reconcile(int limit) {
+        return paymentDAO.findDiscrepancies(limit);
+    }
+
+    /**
+     * One-off migration for students created before the ledger existed
+     */
+    public int recordOpeningBalances() {
+        return paymentDAO.insertOpeningBalances();
+    }
+}
@@ -0,0 +1,82 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.dao.PaymentDAO;
+import com.bytexl.sms.model.Payment;
+import com.bytexl.sms.model.PaymentType;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PaymentLedger - Writes ledger entries in the transaction that changes the balance
+ * Entries recorded during a transaction are collected and inserted as one
+ * JDBC batch just before it commits, so a balance change and its ledger
+ * entry commit or roll back together, and a transaction that applies a
+ * group of payments (see AsyncPaymentProcessor) writes all their entries
+ * in one round trip. Group commit across concurrent transactions is left
+ * to the database.
+ */
+@Component
+public class PaymentLedger {
+
+    @Autowired
+    private PaymentDAO paymentDAO;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    /**
+     * Records a ledger entry as part of the current transaction, which must
+     * be the one changing the balance
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long studentId, PaymentType type, BigDecimal amount) {
+        pendingEntries().add(new Payment(studentId, type, amount));
+    }
+
+    /**
+     * The current transaction's unwritten entries. Looked up among the active
+     * synchronizations, so a suspended outer transaction keeps its own.
+     */
+    private List<Payment> pendingEntries() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEntries && ((PendingEntries) synchronization).owner() == this) {
+                return ((PendingEntries) synchronization).entries;
+            }
+        }
+        PendingEntries pending = new PendingEntries();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.entries;
+    }
+
+    /**
+     * Writes one transaction's entries before it commits; a failed insert
+     * rolls the transaction back. The Session is flushed first, so students
+     * saved in the same transaction exist before their entries reference them.
+     */
+    private final class PendingEntries implements TransactionSynchronization {
+
+        private final List<Payment> entries = new ArrayList<>();
+
+        PaymentLedger owner() {
+            return PaymentLedger.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!entries.isEmpty()) {
+                sessionFactory.getCurrentSession().flush();
+                paymentDAO.insertBatch(entries);
+                entries.clear();
+            }
+        }
+    }
+}
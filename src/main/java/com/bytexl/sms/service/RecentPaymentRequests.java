@@ -0,0 +1,44 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.dto.PaymentReceipt;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RecentPaymentRequests - Bounded LRU of recently committed payment request IDs
+ * Lets FeeService answer a retry of a recent request without touching the
+ * payment_requests table. Only committed requests are added, so a hit is
+ * always a true duplicate; a miss just means the table decides.
+ */
+@Component
+public class RecentPaymentRequests implements InitializingBean {
+
+    @Autowired
+    private Environment env;
+
+    private Map<String, PaymentReceipt> receipts;
+
+    @Override
+    public void afterPropertiesSet() {
+        int capacity = env.getProperty("payments.requests.cacheSize", Integer.class, 10_000);
+        receipts = new LinkedHashMap<String, PaymentReceipt>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PaymentReceipt> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized PaymentReceipt get(String requestId) {
+        return receipts.get(requestId);
+    }
+
+    public synchronized void put(String requestId, PaymentReceipt receipt) {
+        receipts.put(requestId, receipt);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.dao.ReportDAO;
+import com.bytexl.sms.dto.CollectionSummary;
+import com.bytexl.sms.dto.CourseOutstanding;
+import com.bytexl.sms.dto.FeeDashboard;
+import com.bytexl.sms.dto.StudentSummary;
+import com.bytexl.sms.report.BalanceColumns;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * ReportService - Fee reports
+ * One-off reports are aggregated by the database. For dashboards that slice
+ * the same data repeatedly, load a BalanceColumns snapshot once and aggregate
+ * it in memory.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportService {
+
+    @Autowired
+    private ReportDAO reportDAO;
+
+    /**
+     * Total outstanding balance per course, highest first
+     */
+    public List<CourseOutstanding> getOutstandingByCourse() {
+        return reportDAO.outstandingByCourse();
+    }
+
+    /**
+     * Fees collected during the given month and the resulting collection rate
+     */
+    public CollectionSummary getCollectionSummary(YearMonth month) {
+        return reportDAO.collectionSummary(month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * Students owing more than threshold, largest balance first
+     */
+    public List<StudentSummary> getStudentsWithBalanceAbove(BigDecimal threshold, int limit) {
+        return reportDAO.findBalanceAbove(threshold, limit);
+    }
+
+    /**
+     * Snapshot of all balances as primitive columns
+     */
+    public BalanceColumns loadBalanceColumns() {
+        return reportDAO.loadBalanceColumns();
+    }
+
+    /**
+     * Loads a fresh snapshot and summarizes it
+     */
+    public FeeDashboard getDashboard(BigDecimal threshold) {
+        return reportDAO.loadBalanceColumns().summarize(threshold);
+    }
+}
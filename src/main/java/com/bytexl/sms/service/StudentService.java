@@ -1,14 +1,32 @@
 package com.bytexl.sms.service;
 
+import com.bytexl.sms.balance.BalanceSnapshot;
 import com.bytexl.sms.dao.CourseDAO;
+import com.bytexl.sms.dao.PaymentDAO;
 import com.bytexl.sms.dao.StudentDAO;
+import com.bytexl.sms.dto.StudentMatch;
+import com.bytexl.sms.dto.StudentSummary;
 import com.bytexl.sms.model.Course;
+import com.bytexl.sms.model.PaymentType;
 import com.bytexl.sms.model.Student;
+import com.bytexl.sms.model.StudentStatus;
+import com.bytexl.sms.outbox.OutboxEvent;
+import com.bytexl.sms.outbox.OutboxWriter;
+import com.bytexl.sms.search.StudentSearchIndex;
+import com.bytexl.sms.util.SqlLists;
+import com.bytexl.sms.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * StudentService - Service layer for Student operations
@@ -18,48 +36,229 @@ import java.util.List;
 @Transactional
 public class StudentService {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int INSERT_BATCH_SIZE = 50;
+
     @Autowired
     private StudentDAO studentDAO;
 
     @Autowired
     private CourseDAO courseDAO;
 
+    @Autowired
+    private PaymentDAO paymentDAO;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private StudentSearchIndex searchIndex;
+
+    @Autowired
+    private OutboxWriter outbox;
+
+    @Autowired
+    private BalanceSnapshot balanceSnapshot;
+
     public void addStudent(Student student) {
         studentDAO.save(student);
+        recordOpeningBalance(student);
+        outbox.studentCreated(student);
+        TransactionCallbacks.afterCommit(() -> reindex(student));
+    }
+
+    /**
+     * Bulk enrollment - inserts all students in one transaction using JDBC batching
+     * through a StatelessSession, so no persistence context builds up.
+     * The students are iterated twice (insert, then ledger), so pass a collection.
+     * Returns the number of students added.
+     */
+    public int addStudents(Iterable<Student> students) {
+        int count = studentDAO.insertAll(students, INSERT_BATCH_SIZE);
+        for (Student student : students) {
+            recordOpeningBalance(student);
+        }
+        outbox.studentsCreated(students);
+        TransactionCallbacks.afterCommit(() -> students.forEach(this::reindex));
+        return count;
     }
 
-    public void updateStudent(Student student) {
-        studentDAO.update(student);
+    /**
+     * Changes a student's name, email and phone; null leaves a field as it is.
+     * Balance only changes through payments, refunds and enrollment, and
+     * status through delete and graduate, so a stale copy of the student
+     * cannot undo them. Returns the student as updated.
+     */
+    public Student updateStudent(Long studentId, String name, String email, String phone) {
+        if (studentDAO.updateContact(studentId, name, email, phone) == 0) {
+            throw new RuntimeException("Student not found with ID: " + studentId);
+        }
+        Student student = studentDAO.findCurrent(studentId);
+        outbox.studentUpdated(student);
+        TransactionCallbacks.afterCommit(() -> reindex(student));
+        return student;
     }
 
+    /**
+     * Soft delete - the student leaves listings and search but keeps their
+     * payment history until archived (see ArchivalService)
+     */
     public void deleteStudent(Long studentId) {
-        studentDAO.delete(studentId);
+        changeStatus(studentId, StudentStatus.DELETED, OutboxEvent.STUDENT_DELETED);
+    }
+
+    public void graduateStudent(Long studentId) {
+        changeStatus(studentId, StudentStatus.GRADUATED, OutboxEvent.STUDENT_GRADUATED);
+    }
+
+    private void changeStatus(Long studentId, String status, String eventType) {
+        if (studentDAO.changeStatus(studentId, status) == 0) {
+            throw new RuntimeException("No active student with ID: " + studentId);
+        }
+        outbox.statusChanged(studentId, eventType, status);
+        TransactionCallbacks.afterCommit(() -> searchIndex.remove(studentId));
     }
 
+    @Transactional(readOnly = true)
     public Student getStudentById(Long studentId) {
         return studentDAO.findById(studentId);
     }
 
+    /**
+     * Loads every student into memory - prefer getStudentsPage or
+     * forEachStudent for large tables
+     */
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentDAO.findAll();
     }
 
+    /**
+     * Keyset page of students with ID greater than afterId (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public List<Student> getStudentsPage(Long afterId, int pageSize) {
+        return studentDAO.findPage(afterId, pageSize);
+    }
+
+    /**
+     * Streams all students, whatever their status, through the action inside
+     * a single transaction with constant memory. Returns the number of students visited.
+     */
+    @Transactional(readOnly = true)
+    public long forEachStudent(Consumer<Student> action) {
+        return studentDAO.forEach(STREAM_FETCH_SIZE, false, action);
+    }
+
     public void enrollStudentInCourse(Long studentId, Long courseId) {
-        Student student = studentDAO.findById(studentId);
+        enrollStudentsInCourse(courseId, Collections.singletonList(studentId));
+    }
+
+    /**
+     * Bulk enrollment - sets the course and resets the balance to the course fee.
+     * Per chunk of SqlLists.MAX_IN_LIST students this is three statements: lock
+     * the rows, write the ledger adjustments, update the students. No Student
+     * entities are loaded. Unknown student IDs are skipped; returns the number
+     * of students enrolled (0 if the course does not exist).
+     */
+    public int enrollStudentsInCourse(Long courseId, Collection<Long> studentIds) {
         Course course = courseDAO.findById(courseId);
-        
-        if (student != null && course != null) {
-            student.setCourse(course);
-            student.setBalance(course.getFee());
-            studentDAO.update(student);
+        if (course == null || studentIds.isEmpty()) {
+            return 0;
+        }
+        BigDecimal fee = nullToZero(course.getFee());
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        int enrolled = 0;
+        for (int from = 0; from < ids.size(); from += SqlLists.MAX_IN_LIST) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SqlLists.MAX_IN_LIST, ids.size()));
+            List<Long> locked = studentDAO.lockAll(chunk);
+            if (locked.isEmpty()) {
+                continue;
+            }
+            paymentDAO.insertAdjustmentsTo(locked, fee);
+            enrolled += studentDAO.assignCourse(locked, courseId, fee);
+            outbox.studentsEnrolled(locked, courseId, fee);
+            balanceSnapshot.balancesChanged(locked, fee);
         }
+        return enrolled;
     }
 
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByCourse(Long courseId) {
         return studentDAO.findByCourse(courseId);
     }
 
+    @Transactional(readOnly = true)
     public Student getStudentByEmail(String email) {
         return studentDAO.findByEmail(email);
     }
+
+    /**
+     * Partial-match search on name, email or phone. Served from the in-memory
+     * index; while it is still loading the query runs against the database.
+     * SUPPORTS keeps the index path free of transaction and connection overhead.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<StudentMatch> searchStudents(String query, int limit) {
+        if (searchIndex.isReady()) {
+            return searchIndex.search(query, limit);
+        }
+        return studentDAO.search(query.trim(), limit);
+    }
+
+    /**
+     * Roster view of a course - id, name, email, phone, balance and course name only
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSummary> getCourseRoster(Long courseId) {
+        return studentDAO.findRosterByCourse(courseId);
+    }
+
+    /**
+     * Students of a course with their course initialized, as read-only entities
+     */
+    @Transactional(readOnly = true)
+    public List<Student> getStudentsWithCourse(Long courseId) {
+        return studentDAO.findByCourseWithCourse(courseId);
+    }
+
+    /**
+     * Keyset page of student summaries with ID greater than afterId (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSummary> getStudentSummariesPage(Long afterId, int pageSize) {
+        return studentDAO.findSummaryPage(afterId, pageSize);
+    }
+
+    /**
+     * Search covers ACTIVE students only, like the index warm-up, so any
+     * other status takes the student out of the index
+     */
+    private void reindex(Student student) {
+        if (StudentStatus.ACTIVE.equals(student.getStatus())) {
+            searchIndex.put(student);
+        } else {
+            searchIndex.remove(student.getStudentId());
+        }
+    }
+
+    private void recordOpeningBalance(Student student) {
+        recordAdjustment(student.getStudentId(), BigDecimal.ZERO, student.getBalance());
+        balanceSnapshot.balanceChanged(student.getStudentId(), student.getBalance());
+    }
+
+    /**
+     * Records the balance change from -> to as a ledger ADJUSTMENT
+     */
+    private void recordAdjustment(Long studentId, BigDecimal from, BigDecimal to) {
+        BigDecimal delta = nullToZero(to).subtract(nullToZero(from));
+        if (delta.signum() != 0) {
+            paymentLedger.record(studentId, PaymentType.ADJUSTMENT, delta);
+        }
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
 }
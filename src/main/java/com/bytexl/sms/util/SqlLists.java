@@ -0,0 +1,39 @@
+package com.bytexl.sms.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SqlLists - Helpers for statements with an IN (...) list of IDs
+ * Callers chunk their IDs (see MAX_IN_LIST) so statements stay within
+ * driver and server limits and the statement cache sees few distinct shapes.
+ */
+public final class SqlLists {
+
+    /**
+     * Largest IN list the DAOs build
+     */
+    public static final int MAX_IN_LIST = 1000;
+
+    private SqlLists() {}
+
+    /**
+     * "?, ?, ?" with count placeholders
+     */
+    public static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Binds the IDs starting at parameter index first; returns the next free index
+     */
+    public static int bindIds(PreparedStatement statement, int first, List<Long> ids) throws SQLException {
+        int index = first;
+        for (Long id : ids) {
+            statement.setLong(index++, id);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bytexl.sms.util;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.function.Function;
+
+/**
+ * StatelessSessions - Runs bulk work in a StatelessSession inside the current transaction
+ * A StatelessSession has no persistence context: nothing is tracked, snapshotted
+ * or dirty-checked, and nothing goes through the second-level cache, so memory
+ * and per-entity cost stay flat however many rows a bulk job touches. It also
+ * ignores Session filters, cascades and query-cache invalidation, so callers
+ * add their own predicates and evictions.
+ */
+public final class StatelessSessions {
+
+    private StatelessSessions() {}
+
+    /**
+     * Runs the work in a StatelessSession opened on the current Session's
+     * connection, so it commits or rolls back with the surrounding transaction.
+     * JDBC batches are sent batchSize statements at a time; the last, partial
+     * batch is sent before returning (Hibernate drops it on close otherwise).
+     */
+    public static <T> T inCurrentTransaction(SessionFactory sessionFactory, int batchSize,
+                                             Function<StatelessSession, T> work) {
+        return sessionFactory.getCurrentSession().doReturningWork(connection -> {
+            try (StatelessSession session = sessionFactory.withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession()) {
+                session.setJdbcBatchSize(batchSize);
+                T result = work.apply(session);
+                ((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+                return result;
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * V8__active_email_unique - Email uniqueness for ACTIVE students only
+ * A deleted or graduated student stays in students until ArchivalService
+ * moves it, and its email used to block re-registering the address until
+ * then. Uniqueness now applies to active_email, a generated column holding
+ * the email of ACTIVE students and NULL otherwise, so the row keeps its
+ * email for lookups. A plain index on email replaces the unique one.
+ *
+ * Java rather than SQL because V1 declares the unique key inline, and its
+ * name differs between MySQL ("email") and H2 (a generated constraint name),
+ * so it is looked up in the JDBC metadata.
+ */
+public class V8__active_email_unique extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean h2 = connection.getMetaData().getDatabaseProductName().startsWith("H2");
+        String quote = connection.getMetaData().getIdentifierQuoteString();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE students ADD COLUMN active_email VARCHAR(100) "
+                    + "GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN email END)");
+            statement.execute("CREATE UNIQUE INDEX uq_students_active_email ON students (active_email)");
+            for (String index : uniqueEmailIndexes(connection)) {
+                statement.execute(h2
+                        ? "ALTER TABLE students DROP CONSTRAINT " + quote + uniqueConstraint(connection, index) + quote
+                        : "ALTER TABLE students DROP INDEX " + quote + index + quote);
+            }
+            statement.execute("CREATE INDEX idx_students_email ON students (email)");
+        }
+    }
+
+    /** Unique indexes whose only column is students.email. */
+    private List<String> uniqueEmailIndexes(Connection connection) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        String table = metaData.storesUpperCaseIdentifiers() ? "STUDENTS" : "students";
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+            while (rs.next()) {
+                if (rs.getString("INDEX_NAME") != null) {
+                    names.add(rs.getString("INDEX_NAME"));
+                    columns.add(rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+        List<String> indexes = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            if ("email".equalsIgnoreCase(columns.get(i)) && names.indexOf(names.get(i)) == names.lastIndexOf(names.get(i))) {
+                indexes.add(names.get(i));
+            }
+        }
+        return indexes;
+    }
+
+    /** H2 only drops the index of a UNIQUE constraint through the constraint. */
+    private String uniqueConstraint(Connection connection, String index) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT constraint_name FROM information_schema.table_constraints"
+                             + " WHERE LOWER(table_name) = 'students' AND index_name = '" + index + "'")) {
+            if (!rs.next()) {
+                throw new IllegalStateException("No constraint for index " + index);
+            }
+            return rs.getString(1);
+        }
+    }
+}
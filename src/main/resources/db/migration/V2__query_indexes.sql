@@ -0,0 +1,21 @@
+-- Indexes for the columns the DAOs filter and sort on.
+
+-- StudentDAO.findByCourse / findRosterByCourse, status filters within a course.
+-- Also serves the course_id foreign key.
+CREATE INDEX idx_students_course_status ON students (course_id, status);
+
+-- Status filters over all students, walked in student_id order (keyset paging)
+CREATE INDEX idx_students_status ON students (status, student_id);
+
+-- Name lookups and prefix searches (LIKE 'abc%')
+CREATE INDEX idx_students_name ON students (name);
+
+-- ReportDAO.findBalanceAbove - range scan in balance order
+CREATE INDEX idx_students_balance ON students (balance);
+
+-- PaymentDAO.findByStudent / ledgerBalance - a student's entries in order.
+-- Also serves the student_id foreign key.
+CREATE INDEX idx_payments_student ON payments (student_id, payment_id);
+
+-- ReportDAO.collectionSummary - payments within a date range
+CREATE INDEX idx_payments_date ON payments (payment_date);
@@ -0,0 +1,37 @@
+-- Student lifecycle: soft delete / graduation and the archive tier.
+
+-- When the status last changed; ArchivalService archives GRADUATED and
+-- DELETED students once this is older than archive.afterDays.
+ALTER TABLE students ADD COLUMN status_changed_at TIMESTAMP NULL;
+
+-- ArchivalService candidate scan: inactive status, oldest change first
+CREATE INDEX idx_students_status_changed ON students (status, status_changed_at);
+
+-- Archived students and their payments. Same columns as the hot tables plus
+-- the archive time; no unique email, since an address may be reused by a
+-- new student after the old one is archived.
+CREATE TABLE IF NOT EXISTS students_archive (
+    student_id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(15),
+    balance DECIMAL(10, 2),
+    course_id BIGINT,
+    enrollment_date TIMESTAMP NULL,
+    status VARCHAR(20),
+    status_changed_at TIMESTAMP NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_students_archive_email ON students_archive (email);
+
+CREATE TABLE IF NOT EXISTS payments_archive (
+    payment_id BIGINT PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    payment_type VARCHAR(20),
+    payment_date TIMESTAMP NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_payments_archive_student ON payments_archive (student_id, payment_id);
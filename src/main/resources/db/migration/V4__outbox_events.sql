@@ -0,0 +1,12 @@
+-- Transactional outbox: every student and fee change adds a row here in the
+-- same transaction. OutboxRelay publishes rows in event_id order and
+-- deletes them once the sink has accepted them, so the table only holds
+-- the unpublished backlog.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    event_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    payload VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,13 @@
+-- Idempotent payments: one row per client request ID, written in the same
+-- transaction as the payment it identifies. The primary key is the
+-- duplicate check - a retried request fails the insert instead of paying
+-- twice. ArchivalService purges rows older than payments.requests.retentionDays.
+CREATE TABLE IF NOT EXISTS payment_requests (
+    request_id VARCHAR(64) PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    payment_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_payment_requests_created ON payment_requests (created_at);
@@ -0,0 +1,20 @@
+-- Term rollover checkpoints. A rollover is named by the operator; its
+-- student ID range is split into partitions and each partition records how
+-- far it got in the same transaction as every chunk it applies, so running
+-- the rollover again resumes exactly after the last committed chunk.
+CREATE TABLE IF NOT EXISTS term_rollovers (
+    rollover_id VARCHAR(64) PRIMARY KEY,
+    course_ids VARCHAR(1000) NOT NULL,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP NULL
+);
+
+CREATE TABLE IF NOT EXISTS term_rollover_partitions (
+    rollover_id VARCHAR(64) NOT NULL,
+    partition_no INT NOT NULL,
+    next_student_id BIGINT NOT NULL,
+    end_student_id BIGINT NOT NULL,
+    students_assessed BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (rollover_id, partition_no)
+);
@@ -0,0 +1,13 @@
+-- Student ID generator for databases baselined at V1. A database created
+-- before id_generators existed skips V1, so the table is created here, and
+-- the 'students' row is seeded above the IDs AUTO_INCREMENT already handed
+-- out (the pooled generator reserves blocks of 50 below next_val). Databases
+-- created by V1 or database/schema.sql keep their existing row.
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'students', COALESCE(MAX(student_id), 0) + 100 FROM students
+WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE gen_name = 'students');
@@ -0,0 +1,76 @@
+package com.bytexl.sms;
+
+import com.bytexl.sms.config.AppConfig;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * TestDatabase - Boots the real Spring context against a fresh in-memory H2
+ * database (MySQL mode) with the migrations applied, and reads rows back
+ * over plain JDBC for assertions
+ */
+public final class TestDatabase {
+
+    private TestDatabase() {
+    }
+
+    /**
+     * settings are extra "key=value" properties for this context only
+     */
+    public static AnnotationConfigApplicationContext start(String... settings) {
+        for (String setting : settings) {
+            int equals = setting.indexOf('=');
+            System.setProperty(setting.substring(0, equals), setting.substring(equals + 1));
+        }
+        try {
+            return start();
+        } finally {
+            for (String setting : settings) {
+                System.clearProperty(setting.substring(0, setting.indexOf('=')));
+            }
+        }
+    }
+
+    public static AnnotationConfigApplicationContext start() {
+        System.setProperty("db.url", "jdbc:h2:mem:test" + System.nanoTime()
+                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000");
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        System.setProperty("hibernate.show_sql", "false");
+        System.setProperty("hibernate.hbm2ddl.auto", "validate");
+        System.setProperty("db.migration.mode", "migrate");
+        System.setProperty("outbox.relay.enabled", "false");
+        return new AnnotationConfigApplicationContext(AppConfig.class);
+    }
+
+    public static long count(AnnotationConfigApplicationContext context, String sql, Object... args) {
+        return ((Number) queryForObject(context, sql, args)).longValue();
+    }
+
+    public static BigDecimal balance(AnnotationConfigApplicationContext context, Long studentId) {
+        return (BigDecimal) queryForObject(context, "SELECT balance FROM students WHERE student_id = ?", studentId);
+    }
+
+    private static Object queryForObject(AnnotationConfigApplicationContext context, String sql, Object... args) {
+        try (Connection connection = context.getBean(DataSource.class).getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getObject(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(sql, e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.bytexl.sms.balance;
+
+import com.bytexl.sms.TestDatabase;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.service.FeeService;
+import com.bytexl.sms.service.StudentService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BalanceSnapshotTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static BalanceSnapshot snapshot;
+    private static StudentService studentService;
+    private static TransactionTemplate transaction;
+
+    @BeforeAll
+    static void startContext() {
+        context = TestDatabase.start("balance.snapshot.enabled=true");
+        snapshot = context.getBean(BalanceSnapshot.class);
+        studentService = context.getBean(StudentService.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void unknownStudentsAreMisses() {
+        assertNull(snapshot.get(null));
+        assertNull(snapshot.get(0L));
+        assertNull(snapshot.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    void followsCommittedPayments() {
+        Long studentId = addStudent(new BigDecimal("100.00"));
+        assertBalance("100.00", studentId);
+
+        context.getBean(FeeService.class).processPayment(studentId, new BigDecimal("30.50"));
+        assertBalance("69.50", studentId);
+        assertEquals(0, TestDatabase.balance(context, studentId).compareTo(snapshot.get(studentId)));
+    }
+
+    @Test
+    void keepsEveryEntryAcrossGrowth() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Student student = new Student("Grow " + i, "grow" + i + "@test.local", "555");
+            student.setBalance(BigDecimal.valueOf(i, 2));
+            students.add(student);
+        }
+        studentService.addStudents(students);
+
+        for (int i = 0; i < students.size(); i++) {
+            assertEquals(BigDecimal.valueOf(i, 2), snapshot.get(students.get(i).getStudentId()));
+        }
+    }
+
+    @Test
+    void ignoresRolledBackChanges() {
+        Long studentId = addStudent(new BigDecimal("10.00"));
+
+        transaction.executeWithoutResult(status -> {
+            snapshot.balanceChanged(studentId, new BigDecimal("99.00"));
+            status.setRollbackOnly();
+        });
+
+        assertBalance("10.00", studentId);
+    }
+
+    @Test
+    void olderChangeCommittingLastDoesNotWin() {
+        Long studentId = addStudent(new BigDecimal("10.00"));
+        TransactionTemplate inner = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transaction.executeWithoutResult(outer -> {
+            snapshot.balanceChanged(studentId, new BigDecimal("20.00"));
+            inner.executeWithoutResult(status -> snapshot.balanceChanged(studentId, new BigDecimal("30.00")));
+        });
+
+        assertBalance("30.00", studentId);
+    }
+
+    @Test
+    void invalidatedOrFractionalBalancesAreMisses() {
+        Long first = addStudent(new BigDecimal("10.00"));
+        Long second = addStudent(new BigDecimal("10.00"));
+
+        snapshot.invalidate(first);
+        snapshot.balanceChanged(second, new BigDecimal("1.005"));
+
+        assertNull(snapshot.get(first));
+        assertNull(snapshot.get(second));
+    }
+
+    private static Long addStudent(BigDecimal balance) {
+        Student student = new Student("Snapshot Test", "snapshot" + System.nanoTime() + "@test.local", "555");
+        student.setBalance(balance);
+        studentService.addStudent(student);
+        return student.getStudentId();
+    }
+
+    private static void assertBalance(String expected, Long studentId) {
+        assertEquals(new BigDecimal(expected), snapshot.get(studentId));
+    }
+}
@@ -0,0 +1,76 @@
+package com.bytexl.sms.cli;
+
+import com.bytexl.sms.cli.BatchCommand.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchCommandTest {
+
+    @Test
+    void parsesAdd() {
+        BatchCommand command = parse("add", " Doe, Jane ", "jane@x.com");
+
+        assertEquals(7, command.getLineNumber());
+        assertEquals(Operation.ADD, command.getOperation());
+        assertNull(command.getStudentId());
+        assertEquals("Doe, Jane", command.getName());
+        assertEquals("jane@x.com", command.getEmail());
+        assertNull(command.getPhone());
+        assertEquals("555", parse("ADD", "Jane", "jane@x.com", "555").getPhone());
+    }
+
+    @Test
+    void parsesUpdateWithEmptyFieldsAsUnchanged() {
+        BatchCommand command = parse("update", "42", "", "new@x.com", " ");
+
+        assertEquals(Operation.UPDATE, command.getOperation());
+        assertEquals(42L, command.getStudentId());
+        assertNull(command.getName());
+        assertEquals("new@x.com", command.getEmail());
+        assertNull(command.getPhone());
+    }
+
+    @Test
+    void parsesPaymentsRefundsAndBalance() {
+        BatchCommand pay = parse("pay", "5", "12.50");
+        assertEquals(Operation.PAY, pay.getOperation());
+        assertEquals(5L, pay.getStudentId());
+        assertEquals(new BigDecimal("12.50"), pay.getAmount());
+        assertNull(pay.getRequestId());
+
+        BatchCommand refund = parse("Refund", "5", "3", "req-1");
+        assertEquals(Operation.REFUND, refund.getOperation());
+        assertEquals("req-1", refund.getRequestId());
+
+        assertEquals(Operation.BALANCE, parse("balance", "5").getOperation());
+    }
+
+    @Test
+    void rejectsMalformedRecords() {
+        assertMessage("Unknown command: transfer", "transfer", "1", "2");
+        assertMessage("Unknown command: ", "");
+        assertMessage("add expects 3-4 fields, got 2", "add", "Jane");
+        assertMessage("update expects 5 fields, got 4", "update", "1", "a", "b");
+        assertMessage("balance expects 2 fields, got 3", "balance", "1", "2");
+        assertMessage("Missing email", "add", "Jane", "");
+        assertMessage("Missing student ID", "pay", "", "1");
+        assertMessage("Invalid student ID: abc", "pay", "abc", "1");
+        assertMessage("Invalid amount: 1,5", "pay", "1", "1,5");
+        assertMessage("Amount must be positive", "refund", "1", "0");
+        assertMessage("Amount must be positive", "pay", "1", "-3");
+    }
+
+    private static BatchCommand parse(String... fields) {
+        return BatchCommand.parse(7, Arrays.asList(fields));
+    }
+
+    private static void assertMessage(String expected, String... fields) {
+        assertEquals(expected, assertThrows(IllegalArgumentException.class, () -> parse(fields)).getMessage());
+    }
+}
@@ -0,0 +1,55 @@
+package com.bytexl.sms.csv;
+
+import com.bytexl.sms.TestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvImportServiceTest {
+
+    private static AnnotationConfigApplicationContext context;
+
+    @BeforeAll
+    static void startContext() {
+        context = TestDatabase.start();
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void rejectsUnknownStatusesWithTheirLineNumber(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("students.csv");
+        Files.write(file, Arrays.asList(
+                "name,email,status",
+                "Ann,ann@status.test,ACTIVE",
+                "Ben,ben@status.test,GRADUATED",
+                "Cal,cal@status.test,Active",
+                "Dee,dee@status.test,GRAD",
+                "Eve,eve@status.test,"), StandardCharsets.UTF_8);
+
+        CsvImportReport report = context.getBean(CsvImportService.class).importStudents(file);
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(Arrays.asList(
+                "Line 4: Invalid status: Active (expected ACTIVE, GRADUATED or DELETED)",
+                "Line 5: Invalid status: GRAD (expected ACTIVE, GRADUATED or DELETED)"), report.getErrors());
+        assertEquals(1, TestDatabase.count(context,
+                "SELECT COUNT(*) FROM students WHERE email LIKE '%@status.test' AND status = 'GRADUATED'"));
+        assertEquals(2, TestDatabase.count(context,
+                "SELECT COUNT(*) FROM students WHERE email LIKE '%@status.test' AND status = 'ACTIVE'"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.bytexl.sms.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecordsAndEmptyFields() throws IOException {
+        CsvReader reader = reader("name,email,phone\nAnn,ann@x.com,\n,,\n");
+
+        assertEquals(Arrays.asList("name", "email", "phone"), reader.readRecord());
+        assertEquals(Arrays.asList("Ann", "ann@x.com", ""), reader.readRecord());
+        assertEquals(Arrays.asList("", "", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readsQuotedCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = reader("\"Doe, Jane\",\"She said \"\"hi\"\"\",\"two\nlines\"\nnext,row\n");
+
+        assertEquals(Arrays.asList("Doe, Jane", "She said \"hi\"", "two\nlines"), reader.readRecord());
+        assertEquals(2, reader.getLineNumber());
+        assertEquals(Arrays.asList("next", "row"), reader.readRecord());
+        assertEquals(3, reader.getLineNumber());
+    }
+
+    @Test
+    void acceptsCrLfAndMissingFinalLineBreak() throws IOException {
+        CsvReader reader = reader("a,b\r\nc,\"d\"");
+
+        assertEquals(Arrays.asList("a", "b"), reader.readRecord());
+        assertEquals(Arrays.asList("c", "d"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void quotedEmptyFieldAtEndOfInputIsARecord() throws IOException {
+        CsvReader reader = reader("\"\"");
+
+        assertEquals(Arrays.asList(""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertNull(reader("").readRecord());
+    }
+
+    @Test
+    void unterminatedQuoteIsAnError() throws IOException {
+        CsvReader reader = reader("ok\n\"never closed,\nstill open");
+
+        assertEquals(Arrays.asList("ok"), reader.readRecord());
+        IOException error = assertThrows(IOException.class, reader::readRecord);
+        assertTrue(error.getMessage().contains("line 3"), error.getMessage());
+    }
+
+    private static CsvReader reader(String text) {
+        return new CsvReader(new BufferedReader(new StringReader(text)));
+    }
+}
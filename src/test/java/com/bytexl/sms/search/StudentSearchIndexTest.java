@@ -0,0 +1,99 @@
+package com.bytexl.sms.search;
+
+import com.bytexl.sms.dto.StudentMatch;
+import com.bytexl.sms.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentSearchIndexTest {
+
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        index = new StudentSearchIndex();
+        index.put(student(1L, "Alice Smith", "alice.smith@example.com", "+91 98765-43210"));
+        index.put(student(2L, "Bob Smithers", "bob@example.org", "9123456789"));
+        index.put(student(3L, "Carol Jones", "carol@sample.net", null));
+    }
+
+    @Test
+    void matchesSubstringsOfNameAndEmailIgnoringCase() {
+        assertEquals(Set.of(1L, 2L), ids(index.search("SMITH", 10)));
+        assertEquals(Set.of(1L), ids(index.search("lice sm", 10)));
+        assertEquals(Set.of(3L), ids(index.search("sample.net", 10)));
+        assertEquals(Set.of(1L, 2L), ids(index.search("example", 10)));
+    }
+
+    @Test
+    void comparesOnlyDigitsForPhoneQueries() {
+        assertEquals(Set.of(1L), ids(index.search("98765 432", 10)));
+        assertEquals(Set.of(1L), ids(index.search("(987) 65-43", 10)));
+        assertEquals(Set.of(2L), ids(index.search("345678", 10)));
+    }
+
+    @Test
+    void shortQueriesMatchWordPrefixes() {
+        assertEquals(Set.of(1L, 2L), ids(index.search("sm", 10)));
+        assertEquals(Set.of(3L), ids(index.search("j", 10)));
+        assertTrue(index.search("mi", 10).isEmpty());
+    }
+
+    @Test
+    void emptyQueriesAndLimitsReturnNothingExtra() {
+        assertTrue(index.search(null, 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+        assertTrue(index.search("smith", 0).isEmpty());
+        assertEquals(1, index.search("smith", 1).size());
+        assertTrue(index.search("zzz", 10).isEmpty());
+    }
+
+    @Test
+    void putReplacesThePreviousEntry() {
+        index.put(student(1L, "Alice Brown", "alice.brown@example.com", "1111111111"));
+
+        assertEquals(Set.of(2L), ids(index.search("smith", 10)));
+        assertEquals(Set.of(1L), ids(index.search("brown", 10)));
+        assertTrue(index.search("98765", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void removeHidesTheStudent() {
+        index.remove(2L);
+        index.remove(99L);
+
+        assertEquals(Set.of(1L), ids(index.search("smith", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void manyUpdatesCompactWithoutLosingStudents() {
+        for (int i = 0; i < 50_000; i++) {
+            index.put(student(3L, "Carol Jones " + i, "carol@sample.net", null));
+        }
+        index.remove(1L);
+
+        assertEquals(2, index.size());
+        assertEquals(Set.of(3L), ids(index.search("carol jones 49999", 10)));
+        assertTrue(index.search("carol jones 49998", 10).isEmpty());
+        assertEquals(Set.of(2L), ids(index.search("smith", 10)));
+    }
+
+    private static Student student(Long id, String name, String email, String phone) {
+        Student student = new Student(name, email, phone);
+        student.setStudentId(id);
+        return student;
+    }
+
+    private static Set<Long> ids(List<StudentMatch> matches) {
+        return matches.stream().map(StudentMatch::getStudentId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,59 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.TestDatabase;
+import com.bytexl.sms.model.Student;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncPaymentProcessorTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static AsyncPaymentProcessor processor;
+
+    @BeforeAll
+    static void startContext() {
+        context = TestDatabase.start();
+        processor = context.getBean(AsyncPaymentProcessor.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void rejectsMissingStudentBeforeQueueing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> processor.submitPayment(null, new BigDecimal("10.00")));
+        assertThrows(IllegalArgumentException.class,
+                () -> processor.submitRefund("req-null-student", null, new BigDecimal("10.00")));
+        assertEquals(0, processor.getQueueDepth());
+    }
+
+    @Test
+    void rejectsMissingOrNonPositiveAmountBeforeQueueing() {
+        assertThrows(IllegalArgumentException.class, () -> processor.submitPayment(1L, null));
+        assertThrows(IllegalArgumentException.class, () -> processor.submitPayment(1L, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> processor.submitRefund(1L, new BigDecimal("-5.00")));
+        assertEquals(0, processor.getQueueDepth());
+    }
+
+    @Test
+    void appliesQueuedPayment() throws Exception {
+        Student student = new Student("Async Test", "async" + System.nanoTime() + "@test.local", "555");
+        student.setBalance(new BigDecimal("100.00"));
+        context.getBean(StudentService.class).addStudent(student);
+
+        processor.submitPayment(student.getStudentId(), new BigDecimal("40.00")).get(10, TimeUnit.SECONDS);
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(TestDatabase.balance(context, student.getStudentId())));
+    }
+}
@@ -0,0 +1,119 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.TestDatabase;
+import com.bytexl.sms.model.Student;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FeeServiceConcurrencyTest - Many threads paying the same student at once
+ * No payment may be lost or overdraw the balance, and each successful one
+ * leaves exactly one ledger entry
+ */
+class FeeServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int PAYMENTS_PER_THREAD = 25;
+    private static final int PAYMENTS = THREADS * PAYMENTS_PER_THREAD;
+
+    private static AnnotationConfigApplicationContext context;
+    private static FeeService feeService;
+
+    @BeforeAll
+    static void startContext() {
+        context = TestDatabase.start();
+        feeService = context.getBean(FeeService.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void concurrentPaymentsAreAllApplied() throws Exception {
+        Long studentId = addStudent(new BigDecimal("1000.00"));
+
+        int succeeded = payConcurrently(studentId, new BigDecimal("1.25"));
+
+        assertEquals(PAYMENTS, succeeded);
+        BigDecimal expected = new BigDecimal("1000.00").subtract(new BigDecimal("1.25").multiply(BigDecimal.valueOf(PAYMENTS)));
+        assertEquals(0, expected.compareTo(TestDatabase.balance(context, studentId)));
+        assertEquals(PAYMENTS, paymentRows(studentId));
+    }
+
+    @Test
+    void concurrentPaymentsNeverOverdraw() throws Exception {
+        Long studentId = addStudent(new BigDecimal("100.00"));
+
+        int succeeded = payConcurrently(studentId, BigDecimal.ONE);
+
+        assertEquals(100, succeeded);
+        assertEquals(0, BigDecimal.ZERO.compareTo(TestDatabase.balance(context, studentId)));
+        assertEquals(100, paymentRows(studentId));
+    }
+
+    /**
+     * Runs PAYMENTS payments of amount from THREADS threads released together.
+     * Returns the number that succeeded; only insufficient balance may fail.
+     */
+    private static int payConcurrently(Long studentId, BigDecimal amount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Callable<Integer> worker = () -> {
+                    start.await();
+                    int ok = 0;
+                    for (int i = 0; i < PAYMENTS_PER_THREAD; i++) {
+                        try {
+                            feeService.processPayment(studentId, amount);
+                            ok++;
+                        } catch (RuntimeException e) {
+                            assertTrue(e.getMessage().startsWith("Insufficient balance"), e.getMessage());
+                        }
+                    }
+                    return ok;
+                };
+                results.add(executor.submit(worker));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Integer> result : results) {
+                succeeded += result.get(2, TimeUnit.MINUTES);
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Long addStudent(BigDecimal balance) {
+        Student student = new Student("Concurrent Payer", "payer" + System.nanoTime() + "@test.local", "555");
+        student.setBalance(balance);
+        context.getBean(StudentService.class).addStudent(student);
+        return student.getStudentId();
+    }
+
+    private static long paymentRows(Long studentId) {
+        return TestDatabase.count(context,
+                "SELECT COUNT(*) FROM payments WHERE student_id = ? AND payment_type = 'PAYMENT'", studentId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.TestDatabase;
+import com.bytexl.sms.model.PaymentType;
+import com.bytexl.sms.model.Student;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaymentLedgerTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static FeeService feeService;
+    private static TransactionTemplate transaction;
+
+    private Long studentId;
+
+    @BeforeAll
+    static void startContext() {
+        context = TestDatabase.start();
+        feeService = context.getBean(FeeService.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void addStudent() {
+        Student student = new Student("Ledger Test", "ledger" + System.nanoTime() + "@test.local", "555");
+        student.setBalance(new BigDecimal("100.00"));
+        context.getBean(StudentService.class).addStudent(student);
+        studentId = student.getStudentId();
+    }
+
+    @Test
+    void committedPaymentWritesOneEntry() {
+        feeService.processPayment(studentId, new BigDecimal("30.00"));
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(TestDatabase.balance(context, studentId)));
+        assertEquals(1, ledgerRows(PaymentType.PAYMENT));
+    }
+
+    @Test
+    void rolledBackPaymentLeavesNoEntry() {
+        transaction.executeWithoutResult(status -> {
+            feeService.processPayment(studentId, new BigDecimal("30.00"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(TestDatabase.balance(context, studentId)));
+        assertEquals(0, ledgerRows(PaymentType.PAYMENT));
+    }
+
+    @Test
+    void failureAfterPaymentLeavesNoEntry() {
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            feeService.processPayment(studentId, new BigDecimal("30.00"));
+            throw new IllegalStateException("fails after the payment");
+        }));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(TestDatabase.balance(context, studentId)));
+        assertEquals(0, ledgerRows(PaymentType.PAYMENT));
+    }
+
+    @Test
+    void recordRequiresTransaction() {
+        PaymentLedger ledger = context.getBean(PaymentLedger.class);
+
+        assertThrows(IllegalTransactionStateException.class,
+                () -> ledger.record(studentId, PaymentType.PAYMENT, BigDecimal.ONE));
+        assertEquals(0, ledgerRows(PaymentType.PAYMENT));
+    }
+
+    private long ledgerRows(PaymentType type) {
+        return TestDatabase.count(context,
+                "SELECT COUNT(*) FROM payments WHERE student_id = ? AND payment_type = ?", studentId, type.name());
+    }
+}
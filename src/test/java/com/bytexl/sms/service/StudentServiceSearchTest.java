@@ -0,0 +1,69 @@
+package com.bytexl.sms.service;
+
+import com.bytexl.sms.TestDatabase;
+import com.bytexl.sms.dto.StudentMatch;
+import com.bytexl.sms.model.Student;
+import com.bytexl.sms.model.StudentStatus;
+import com.bytexl.sms.search.StudentSearchIndex;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StudentServiceSearchTest - Only ACTIVE students reach the search index
+ */
+class StudentServiceSearchTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static StudentService studentService;
+    private static StudentSearchIndex searchIndex;
+
+    @BeforeAll
+    static void startContext() throws InterruptedException {
+        context = TestDatabase.start();
+        studentService = context.getBean(StudentService.class);
+        searchIndex = context.getBean(StudentSearchIndex.class);
+        for (int i = 0; i < 100 && !searchIndex.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(searchIndex.isReady());
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void updatingDeletedStudentKeepsItOutOfSearch() {
+        Student student = new Student("Quentin Deleted", "quentin@test.local", "555");
+        studentService.addStudent(student);
+        assertEquals(List.of(student.getStudentId()), searchIds("quentin"));
+
+        studentService.deleteStudent(student.getStudentId());
+        studentService.updateStudent(student.getStudentId(), "Quentin Renamed", null, null);
+
+        assertTrue(searchIds("quentin").isEmpty());
+    }
+
+    @Test
+    void inactiveStudentsAreNotIndexedWhenAdded() {
+        Student graduated = new Student("Rosalind Graduated", "rosalind@test.local", "555");
+        graduated.setStatus(StudentStatus.GRADUATED);
+        studentService.addStudents(Collections.singletonList(graduated));
+
+        assertTrue(searchIds("rosalind").isEmpty());
+    }
+
+    private static List<Long> searchIds(String query) {
+        return searchIndex.search(query, 10).stream().map(StudentMatch::getStudentId).collect(Collectors.toList());
+    }
+}